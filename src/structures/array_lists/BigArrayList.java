@@ -0,0 +1,333 @@
+package structures.array_lists;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class is an array list that is indexed with a long, so it can hold more than
+ * Integer.MAX_VALUE elements. Instead of one big array it uses pages that are a
+ * power of two long, so growing the list only allocates one new page. Nothing is
+ * ever copied into a bigger array, which keeps the peak memory during growth to
+ * one page more than the elements themselves.
+ * @param <T> is the generic element to be stored
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class BigArrayList<T> implements Iterable<T> {
+
+    private long size;
+    private Object[][] pages;
+    private int pageCount;
+    private int modCount; //this will keep track of how many structural changes have been made
+
+    private final int pageShift;
+    private final int pageMask;
+
+    private static final int DEFAULT_PAGE_BITS = 16; //65536 elements per page
+    private static final int MAX_PAGE_BITS = 30;
+
+    /**
+     * BigArrayList Constructor
+     */
+    public BigArrayList() {
+        this(DEFAULT_PAGE_BITS);
+    }
+
+    /**
+     * BigArrayList Constructor that picks the page size
+     * @param pageBits each page holds 2^pageBits elements
+     * @throws IllegalArgumentException if pageBits is not between 1 and 30
+     */
+    public BigArrayList(int pageBits) {
+        if(pageBits < 1 || pageBits > MAX_PAGE_BITS) {
+            throw new IllegalArgumentException("Page bits must be between 1 and " + MAX_PAGE_BITS + ": " + pageBits);
+        }
+        this.pageShift = pageBits;
+        this.pageMask = (1 << pageBits) - 1;
+        this.pages = new Object[4][];
+    }
+
+    /**
+     * @return the number of elements in the list
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no elements in the list
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds an element to the end of the list, allocating a new page if the last one is full
+     * @param element the element to add
+     * @return always true, like MyArrayList.add()
+     * @throws NullPointerException if element is null
+     */
+    public boolean add(T element) {
+        if(element == null) {
+            throw new NullPointerException("Cannot add null values into the list");
+        }
+
+        int page = (int) (size >>> pageShift);
+        if(page == pageCount) {
+            addPage();
+        }
+        pages[page][(int) (size & pageMask)] = element;
+        size++;
+        modCount++; //record the change
+        return true;
+    }
+
+    /**
+     * @param index the position of the element
+     * @return the element at the index
+     */
+    public T get(long index) {
+        checkIndex(index);
+        return (T) pages[(int) (index >>> pageShift)][(int) (index & pageMask)];
+    }
+
+    /**
+     * Replaces the element at the index
+     * @param index the position of the element
+     * @param element the new element
+     * @return the element that was replaced
+     */
+    public T set(long index, T element) {
+        checkIndex(index);
+        if(element == null) {
+            throw new NullPointerException("Cannot add null values into the list");
+        }
+
+        Object[] page = pages[(int) (index >>> pageShift)];
+        int slot = (int) (index & pageMask);
+        T prevItem = (T) page[slot];
+        page[slot] = element;
+        return prevItem;
+    }
+
+    /**
+     * Removes and returns the last element, freeing its page once the page is empty
+     * @return the last element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T removeLast() {
+        if(isEmpty()) {
+            throw new NoSuchElementException("Cannot remove from an empty list");
+        }
+        size--;
+        Object[] page = pages[(int) (size >>> pageShift)];
+        int slot = (int) (size & pageMask);
+        T item = (T) page[slot];
+        page[slot] = null;
+
+        //drop the page when nothing is left in it
+        if(slot == 0) {
+            pageCount--;
+            pages[pageCount] = null;
+        }
+        modCount++; //record the change
+        return item;
+    }
+
+    /**
+     * @param object the element to look for
+     * @return the index of the first occurrence, or -1 if it is not in the list
+     */
+    public long indexOf(Object object) {
+        if(object == null) {
+            return -1;
+        }
+        long index = 0;
+        for(int page = 0; page < pageCount; page++) {
+            Object[] data = pages[page];
+            int length = pageLength(page);
+            for(int i = 0; i < length; i++) {
+                if(data[i].equals(object)) {
+                    return index + i;
+                }
+            }
+            index += length;
+        }
+        return -1;
+    }
+
+    /**
+     * @param object the element to look for
+     * @return true if the element is in the list
+     */
+    public boolean contains(Object object) {
+        return indexOf(object) >= 0;
+    }
+
+    /**
+     * Removes every element and releases every page
+     */
+    public void clear() {
+        pages = new Object[4][];
+        pageCount = 0;
+        size = 0;
+        modCount++; //record the change
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Creates a spliterator that splits on the long index range, so parallel streams
+     * spread whole pages across threads.
+     * @return a spliterator over the elements of the list
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new BigArrayListSpliterator(0, -1, 0);
+    }
+
+    /**
+     * @return a sequential stream over the elements
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return a parallel stream over the elements, split across the pages
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private void addPage() {
+        //only the small array of page references is ever copied
+        if(pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, pageCount * 2);
+        }
+        pages[pageCount] = new Object[pageMask + 1];
+        pageCount++;
+    }
+
+    private int pageLength(int page) {
+        //every page is full except maybe the last one
+        if(page < pageCount - 1) {
+            return pageMask + 1;
+        }
+        return (int) (size - ((long) page << pageShift));
+    }
+
+    private void checkIndex(long index) {
+        if(index < 0) {
+            throw new IndexOutOfBoundsException("Index cannot be negative");
+        } else if(index >= size) {
+            throw new IndexOutOfBoundsException("Index is greater than the size of the list");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BigArrayList { " +
+                "\n size = " + size +
+                "\n pages = " + pageCount +
+                "\n pageSize = " + (pageMask + 1) +
+                "\n}";
+    }
+
+    private class BigArrayListSpliterator implements Spliterator<T> {
+
+        private long index; //the next index to report
+        private long fence; //one past the last index, -1 until first use
+        private int expectedModCount;
+
+        private BigArrayListSpliterator(long origin, long fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private long getFence() {
+            //bind to the list on first use
+            if(fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long high = getFence();
+            long low = index;
+            long mid = (low + high) >>> 1;
+
+            //split on a page boundary when the range covers more than one page
+            long pageAligned = mid & ~((long) pageMask);
+            if(pageAligned > low) {
+                mid = pageAligned;
+            }
+            if(low >= mid) {
+                return null;
+            }
+            index = mid;
+            return new BigArrayListSpliterator(low, mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if(action == null) {
+                throw new NullPointerException("action cannot be null");
+            }
+
+            if(index < getFence()) {
+                T item = (T) pages[(int) (index >>> pageShift)][(int) (index & pageMask)];
+                index++;
+                action.accept(item);
+                checkForComodification();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if(action == null) {
+                throw new NullPointerException("action cannot be null");
+            }
+
+            //walk one page at a time, straight through its array
+            long high = getFence();
+            while(index < high) {
+                Object[] page = pages[(int) (index >>> pageShift)];
+                int from = (int) (index & pageMask);
+                int to = (int) Math.min(page.length, from + (high - index));
+                for(int i = from; i < to; i++) {
+                    action.accept((T) page[i]);
+                }
+                index += to - from;
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+
+        private void checkForComodification() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Changes were made while splitting");
+            }
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package structures.array_lists;
+
+import java.util.*;
+
+/**
+ * This class is a sorted list of distinct ints that is stored compressed, for things like
+ * id lists where an int[] or a MyArrayList&lt;Integer&gt; would be much bigger than needed.
+ * <p>
+ * Values are kept in blocks of 128. Each block stores its first value in a block index, and
+ * the gaps between its other values bit-packed with just enough bits for the biggest gap in
+ * the block (frame of reference), so dense ids cost a few bits each instead of 4 to 20 bytes.
+ * The block index is binary searched to find the one block that can hold a value, which
+ * makes contains() and rank() O(log n) plus one block decode. The last, unfinished block is
+ * kept unpacked until it fills up.
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class CompressedSortedIntList implements Iterable<Integer> {
+
+    private static final int BLOCK_SHIFT = 7;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT; //128 values per block
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private int[] blockFirst = new int[4]; //the block index: first value of every packed block
+    private int[] blockOffset = new int[4]; //where each packed block's gaps start in packed
+    private byte[] blockBits = new byte[4]; //how many bits each gap takes in each packed block
+    private int blockCount;
+
+    private long[] packed = new long[16];
+    private int packedWords;
+
+    private final int[] pending = new int[BLOCK_SIZE]; //the last block, not packed yet
+    private int pendingCount;
+
+    /**
+     * CompressedSortedIntList Constructor
+     */
+    public CompressedSortedIntList() {
+    }
+
+    /**
+     * CompressedSortedIntList Constructor that starts with the values of a sorted array
+     * @param sortedValues the values to start with, in strictly increasing order
+     * @throws IllegalArgumentException if the values are not strictly increasing
+     */
+    public CompressedSortedIntList(int[] sortedValues) {
+        for(int value : sortedValues) {
+            add(value);
+        }
+    }
+
+    /**
+     * @return the number of values in the list
+     */
+    public int size() {
+        return (blockCount << BLOCK_SHIFT) + pendingCount;
+    }
+
+    /**
+     * @return true if there are no values in the list
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Adds a value to the end of the list. Values have to come in sorted order, so the
+     * list can store the gaps between them.
+     * @param value the value to add, bigger than every value already in the list
+     * @throws IllegalArgumentException if the value is not bigger than the last value
+     */
+    public void add(int value) {
+        if(!isEmpty() && value <= last()) {
+            throw new IllegalArgumentException("Values must be added in strictly increasing order: " +
+                    value + " after " + last());
+        }
+
+        pending[pendingCount] = value;
+        pendingCount++;
+        if(pendingCount == BLOCK_SIZE) {
+            packPending();
+        }
+    }
+
+    /**
+     * @param index the position of the value
+     * @return the value at the index, which decodes at most one block
+     */
+    public int get(int index) {
+        if(index < 0) {
+            throw new IndexOutOfBoundsException("Index cannot be negative");
+        } else if(index >= size()) {
+            throw new IndexOutOfBoundsException("Index is greater than the size of the list");
+        }
+
+        int block = index >>> BLOCK_SHIFT;
+        int offset = index & BLOCK_MASK;
+        if(block == blockCount) {
+            return pending[offset];
+        }
+
+        //add up the gaps from the start of the block
+        int bits = blockBits[block];
+        long bitPosition = (long) blockOffset[block] << 6;
+        int value = blockFirst[block];
+        for(int i = 0; i < offset; i++) {
+            value += (int) readBits(packed, bitPosition, bits) + 1;
+            bitPosition += bits;
+        }
+        return value;
+    }
+
+    /**
+     * @return the smallest value in the list
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int first() {
+        if(isEmpty()) {
+            throw new NoSuchElementException("Cannot get the first value of an empty list");
+        }
+        return blockCount > 0 ? blockFirst[0] : pending[0];
+    }
+
+    /**
+     * @return the biggest value in the list
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int last() {
+        if(isEmpty()) {
+            throw new NoSuchElementException("Cannot get the last value of an empty list");
+        } else if(pendingCount > 0) {
+            return pending[pendingCount - 1];
+        }
+        return get(size() - 1);
+    }
+
+    /**
+     * @param value the value to look for
+     * @return true if the value is in the list
+     */
+    public boolean contains(int value) {
+        return search(value) >= 0;
+    }
+
+    /**
+     * @param value the value to rank
+     * @return how many values in the list are smaller than the value
+     */
+    public int rank(int value) {
+        int index = search(value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Intersects two lists by walking them side by side. Whenever one list is behind,
+     * it jumps ahead through the block index, so whole blocks that cannot match are
+     * skipped without being decoded.
+     * @param other the list to intersect with
+     * @return a new list holding the values that are in both lists
+     */
+    public CompressedSortedIntList intersect(CompressedSortedIntList other) {
+        CompressedSortedIntList result = new CompressedSortedIntList();
+        if(isEmpty() || other.isEmpty()) {
+            return result;
+        }
+
+        BlockCursor mine = new BlockCursor();
+        BlockCursor theirs = other.new BlockCursor();
+        boolean more = mine.advanceTo(Integer.MIN_VALUE) && theirs.advanceTo(Integer.MIN_VALUE);
+        while(more) {
+            int a = mine.current();
+            int b = theirs.current();
+            if(a == b) {
+                result.add(a);
+                more = mine.advance() && theirs.advance();
+            } else if(a < b) {
+                more = mine.advanceTo(b);
+            } else {
+                more = theirs.advanceTo(a);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a new int[] holding every value in the list, in order
+     */
+    public int[] toArray() {
+        int[] array = new int[size()];
+        int index = 0;
+        for(PrimitiveIterator.OfInt iterator = iterator(); iterator.hasNext(); index++) {
+            array[index] = iterator.nextInt();
+        }
+        return array;
+    }
+
+    /**
+     * @return how many bytes the packed values, the block index and the unpacked last block take up
+     */
+    public long compressedBytes() {
+        return (long) packedWords * Long.BYTES + (long) blockCount * (Integer.BYTES * 2 + 1) +
+                (long) BLOCK_SIZE * Integer.BYTES;
+    }
+
+    /**
+     * Creates an iterator that decodes one block at a time into a small buffer,
+     * so the whole list is never unpacked at once.
+     * @return an iterator over the values in increasing order
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private final BlockCursor cursor = new BlockCursor();
+            private boolean loaded = cursor.advanceTo(Integer.MIN_VALUE);
+
+            @Override
+            public boolean hasNext() {
+                return loaded;
+            }
+
+            @Override
+            public int nextInt() {
+                if(!loaded) {
+                    throw new NoSuchElementException("No more values in the list");
+                }
+                int item = cursor.current();
+                loaded = cursor.advance();
+                return item;
+            }
+        };
+    }
+
+    private int search(int value) {
+        //binary search the block index for the last block that starts at or before the value
+        int block = findBlock(value);
+        if(block < 0) {
+            return -1;
+        }
+
+        int base = block << BLOCK_SHIFT;
+        if(block == blockCount) {
+            int index = Arrays.binarySearch(pending, 0, pendingCount, value);
+            return index >= 0 ? base + index : index - base;
+        }
+
+        //then walk the gaps in that one block
+        int bits = blockBits[block];
+        long bitPosition = (long) blockOffset[block] << 6;
+        int current = blockFirst[block];
+        for(int i = 0; i < BLOCK_SIZE; i++) {
+            if(i > 0) {
+                current += (int) readBits(packed, bitPosition, bits) + 1;
+                bitPosition += bits;
+            }
+            if(current == value) {
+                return base + i;
+            } else if(current > value) {
+                return -(base + i) - 1;
+            }
+        }
+        return -(base + BLOCK_SIZE) - 1;
+    }
+
+    private int findBlock(int value) {
+        //counts the unpacked last block as block number blockCount
+        int low = 0;
+        int high = pendingCount > 0 ? blockCount : blockCount - 1;
+        int found = -1;
+        while(low <= high) {
+            int mid = (low + high) >>> 1;
+            int first = mid == blockCount ? pending[0] : blockFirst[mid];
+            if(first <= value) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private void packPending() {
+        //find the widest gap, store gaps minus one since values are strictly increasing
+        long widest = 0;
+        for(int i = 1; i < BLOCK_SIZE; i++) {
+            widest |= gap(pending[i - 1], pending[i]);
+        }
+        int bits = 64 - Long.numberOfLeadingZeros(widest);
+        int words = (int) (((long) (BLOCK_SIZE - 1) * bits + 63) >>> 6);
+
+        if(blockCount == blockFirst.length) {
+            blockFirst = Arrays.copyOf(blockFirst, blockCount * 2);
+            blockOffset = Arrays.copyOf(blockOffset, blockCount * 2);
+            blockBits = Arrays.copyOf(blockBits, blockCount * 2);
+        }
+        if(packedWords + words > packed.length) {
+            packed = Arrays.copyOf(packed, Math.max(packed.length * 2, packedWords + words));
+        }
+
+        blockFirst[blockCount] = pending[0];
+        blockOffset[blockCount] = packedWords;
+        blockBits[blockCount] = (byte) bits;
+        long bitPosition = (long) packedWords << 6;
+        for(int i = 1; i < BLOCK_SIZE; i++) {
+            writeBits(packed, bitPosition, bits, gap(pending[i - 1], pending[i]));
+            bitPosition += bits;
+        }
+
+        packedWords += words;
+        blockCount++;
+        pendingCount = 0;
+    }
+
+    private static long gap(int previous, int next) {
+        return ((long) next - previous) - 1;
+    }
+
+    private static void writeBits(long[] words, long bitPosition, int bits, long value) {
+        if(bits == 0) {
+            return;
+        }
+        int word = (int) (bitPosition >>> 6);
+        int shift = (int) (bitPosition & 63);
+        words[word] |= value << shift;
+        if(shift + bits > 64) {
+            words[word + 1] |= value >>> (64 - shift); //the rest spills into the next word
+        }
+    }
+
+    private static long readBits(long[] words, long bitPosition, int bits) {
+        if(bits == 0) {
+            return 0;
+        }
+        int word = (int) (bitPosition >>> 6);
+        int shift = (int) (bitPosition & 63);
+        long value = words[word] >>> shift;
+        if(shift + bits > 64) {
+            value |= words[word + 1] << (64 - shift);
+        }
+        return value & (-1L >>> (64 - bits));
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedSortedIntList { " +
+                "\n size = " + size() +
+                "\n blocks = " + blockCount +
+                "\n compressedBytes = " + compressedBytes() +
+                "\n}";
+    }
+
+    /**
+     * Walks the list forward one block at a time, decoding each block into a buffer.
+     */
+    private class BlockCursor {
+
+        private final int[] buffer = new int[BLOCK_SIZE];
+        private int block = -1;
+        private int length;
+        private int position;
+
+        private int current() {
+            return buffer[position];
+        }
+
+        private boolean advance() {
+            position++;
+            if(position < length) {
+                return true;
+            }
+            return load(block + 1);
+        }
+
+        private boolean advanceTo(int target) {
+            //jump straight to a later block through the block index when the target is past this one
+            int targetBlock = findBlock(target);
+            if(targetBlock > block) {
+                if(!load(targetBlock)) {
+                    return false;
+                }
+            } else if(block < 0 && !load(0)) {
+                return false;
+            }
+
+            //then step forward inside the block, which may run into the next block
+            while(buffer[position] < target) {
+                if(!advance()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean load(int newBlock) {
+            block = newBlock;
+            position = 0;
+            if(newBlock < blockCount) {
+                int bits = blockBits[newBlock];
+                long bitPosition = (long) blockOffset[newBlock] << 6;
+                buffer[0] = blockFirst[newBlock];
+                for(int i = 1; i < BLOCK_SIZE; i++) {
+                    buffer[i] = buffer[i - 1] + (int) readBits(packed, bitPosition, bits) + 1;
+                    bitPosition += bits;
+                }
+                length = BLOCK_SIZE;
+            } else if(newBlock == blockCount && pendingCount > 0) {
+                System.arraycopy(pending, 0, buffer, 0, pendingCount);
+                length = pendingCount;
+            } else {
+                length = 0;
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package structures.array_lists;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class is a lock-free, append-only list that many threads can add to at once.
+ * <p>
+ * Elements live in fixed-size chunks that are found through a two level directory,
+ * so growing the list only ever allocates a new chunk and never copies an element.
+ * An appending thread claims its slot with an atomic counter and writes into it.
+ * Readers only see the indices below a published watermark, which any appending
+ * thread moves forward over the slots that have been written.
+ * @param <T> is the generic element to be stored
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class ConcurrentAppendList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int CHUNK_BITS = 12; //4096 elements per chunk
+    private static final int DIRECTORY_BITS = 10; //1024 chunks per directory
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int DIRECTORY_MASK = (1 << DIRECTORY_BITS) - 1;
+    private static final int TOP_SHIFT = CHUNK_BITS + DIRECTORY_BITS;
+    private static final int TOP_SIZE = 1 << (31 - TOP_SHIFT); //enough directories for every int index
+
+    private final AtomicReferenceArray<AtomicReferenceArray<AtomicReferenceArray<T>>> directories;
+    private final AtomicInteger claimed = new AtomicInteger(); //next slot to hand out
+    private final AtomicInteger published = new AtomicInteger(); //every slot below this is readable
+
+    /**
+     * ConcurrentAppendList Constructor
+     */
+    public ConcurrentAppendList() {
+        directories = new AtomicReferenceArray<>(TOP_SIZE);
+    }
+
+    /**
+     * Appends an element to the end of the list. Safe to call from any number of threads.
+     * @param element the element to add
+     * @return always true
+     * @throws NullPointerException if element is null
+     * @throws IllegalStateException if the list already holds Integer.MAX_VALUE elements
+     */
+    @Override
+    public boolean add(T element) {
+        if(element == null) {
+            throw new NullPointerException("Cannot add null values into the list");
+        }
+
+        //claim a slot, then fill it in
+        int index = claimed.getAndIncrement();
+        if(index < 0 || index == Integer.MAX_VALUE) {
+            claimed.set(Integer.MAX_VALUE); //keep the counter from wrapping back around
+            throw new IllegalStateException("The list is full");
+        }
+        chunkFor(index, true).set(index & CHUNK_MASK, element);
+
+        advanceWatermark();
+        return true;
+    }
+
+    /**
+     * @param index the position of the element, below size()
+     * @return the element at the index
+     */
+    @Override
+    public T get(int index) {
+        if(index < 0) {
+            throw new IndexOutOfBoundsException("Index cannot be negative");
+        } else if(index >= published.get()) {
+            throw new IndexOutOfBoundsException("Index is greater than the size of the list");
+        }
+        return chunkFor(index, false).get(index & CHUNK_MASK);
+    }
+
+    /**
+     * @return the number of elements that have been published, which only ever grows
+     */
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    private void advanceWatermark() {
+        //move the watermark over every slot that has been written, whoever wrote it
+        while(true) {
+            int watermark = published.get();
+            if(watermark == claimed.get() || watermark == Integer.MAX_VALUE) {
+                return;
+            }
+
+            AtomicReferenceArray<T> chunk = chunkFor(watermark, false);
+            if(chunk == null || chunk.get(watermark & CHUNK_MASK) == null) {
+                return; //that slot's writer will move the watermark when it finishes
+            }
+            published.compareAndSet(watermark, watermark + 1);
+        }
+    }
+
+    private AtomicReferenceArray<T> chunkFor(int index, boolean create) {
+        int top = index >>> TOP_SHIFT;
+        AtomicReferenceArray<AtomicReferenceArray<T>> directory = directories.get(top);
+        if(directory == null) {
+            if(!create) {
+                return null;
+            }
+            //whichever thread wins the race installs the directory, everyone uses that one
+            directories.compareAndSet(top, null, new AtomicReferenceArray<>(1 << DIRECTORY_BITS));
+            directory = directories.get(top);
+        }
+
+        int middle = (index >>> CHUNK_BITS) & DIRECTORY_MASK;
+        AtomicReferenceArray<T> chunk = directory.get(middle);
+        if(chunk == null) {
+            if(!create) {
+                return null;
+            }
+            directory.compareAndSet(middle, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+            chunk = directory.get(middle);
+        }
+        return chunk;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentAppendList { " +
+                "\n size = " + published.get() +
+                "\n claimed = " + claimed.get() +
+                "\n}";
+    }
+}
@@ -0,0 +1,465 @@
+package structures.array_lists;
+
+import java.util.Arrays;
+
+/**
+ * This class is an open-addressing (linear probing) hash index from an element
+ * to how many times it shows up in a list, plus its first and last position.
+ * <p>
+ * Counts are always exact. Positions are kept up to date in O(1) for appends, set()
+ * and inserts or removes at either end of the list. Inserting or removing at the front
+ * moves every position by one, so the positions are stored relative to an offset that
+ * is bumped instead. When the element that held a first or last position is removed,
+ * only that position is marked stale, and the next lookup of that element scans from
+ * the matching end of the list until it finds it again.
+ * <p>
+ * Inserts and removes in the middle are written to a short log of shifts, and each
+ * element applies the shifts it has not seen yet the next time it is looked up or
+ * changed. Once the log is full, every position is marked stale and rebuilt with a
+ * single O(n) scan on the next lookup, so that scan happens at most once per
+ * EDIT_LOG_SIZE middle edits. Sorts and other bulk rewrites also mark every position stale.
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+class HashIndex {
+
+    private Object[] keys;
+    private int[] counts;
+    private int[] first; //stored positions, the real position is this plus offset
+    private int[] last;
+    private int[] seen; //how many log entries have been applied to each entry's positions
+    private byte[] stale; //FIRST_STALE and LAST_STALE bits for each entry
+    private int occupied;
+    private boolean positionsValid = true;
+
+    private int offset; //added to every stored position, moved by edits at the front
+    private final int[] logAt = new int[EDIT_LOG_SIZE]; //stored position of each middle edit
+    private final int[] logShift = new int[EDIT_LOG_SIZE]; //+1 for an insert, -1 for a remove
+    private int logSize;
+
+    private static final int INITIAL_SIZE = 16;
+    private static final int EDIT_LOG_SIZE = 32;
+    private static final byte FIRST_STALE = 1;
+    private static final byte LAST_STALE = 2;
+
+    /**
+     * HashIndex Constructor
+     * @param expectedElements the number of distinct elements to make room for
+     */
+    HashIndex(int expectedElements) {
+        //keep the table at most half full so probe runs stay short
+        int tableSize = INITIAL_SIZE;
+        while(tableSize < expectedElements * 2 && tableSize < (1 << 30)) {
+            tableSize <<= 1;
+        }
+        allocate(tableSize);
+    }
+
+    /**
+     * Builds an index over the first size elements of the array
+     * @param data the elements to index
+     * @param size how many elements of the array are in use
+     * @return the new index
+     */
+    static HashIndex of(Object[] data, int size) {
+        HashIndex index = new HashIndex(size);
+        for(int i = 0; i < size; i++) {
+            index.added(data[i], i);
+        }
+        return index;
+    }
+
+    /**
+     * Records that the element was appended at the position
+     * @param element the element that was added
+     * @param position where it was added, which must be the end of the list
+     */
+    void added(Object element, int position) {
+        int slot = findOrInsert(element);
+        if(positionsValid) {
+            int stored = position - offset;
+            if(counts[slot] == 0) {
+                track(slot, stored);
+            } else {
+                catchUp(slot);
+                last[slot] = stored;
+                stale[slot] &= ~LAST_STALE;
+            }
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * Records that the element was inserted at the position, moving everything from there up by one
+     * @param element the element that was added
+     * @param position where it was added
+     * @param oldSize the size of the list before the insert
+     */
+    void inserted(Object element, int position, int oldSize) {
+        if(position == oldSize) {
+            added(element, position);
+            return;
+        }
+
+        if(positionsValid) {
+            if(position == 0) {
+                offset++;
+            } else {
+                log(position - offset, 1);
+            }
+        }
+        int slot = findOrInsert(element);
+        if(positionsValid) {
+            place(slot, position - offset);
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * Records that the element at the position was removed, moving everything after it down by one
+     * @param element the element that was removed
+     * @param position where it was
+     * @param oldSize the size of the list before the remove
+     */
+    void removed(Object element, int position, int oldSize) {
+        int slot = find(element);
+        if(slot < 0) {
+            return;
+        }
+
+        int stored = position - offset;
+        if(positionsValid) {
+            catchUp(slot);
+        }
+        forget(slot, stored);
+
+        //the rest of the list only moves if this was not the last element
+        if(positionsValid && position != oldSize - 1) {
+            if(position == 0) {
+                offset--;
+            } else {
+                log(stored, -1);
+            }
+        }
+    }
+
+    /**
+     * Records that set() replaced the element at the position, which moves nothing else
+     * @param oldElement the element that was there
+     * @param element the element that replaced it
+     * @param position where the replacement happened
+     */
+    void replaced(Object oldElement, Object element, int position) {
+        if(oldElement.equals(element)) {
+            return;
+        }
+
+        int stored = position - offset;
+        int oldSlot = find(oldElement);
+        if(oldSlot >= 0) {
+            if(positionsValid) {
+                catchUp(oldSlot);
+            }
+            forget(oldSlot, stored);
+        }
+
+        int slot = findOrInsert(element);
+        if(positionsValid) {
+            place(slot, stored);
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * Marks every position as stale, for changes that move elements but keep the counts
+     */
+    void invalidatePositions() {
+        positionsValid = false;
+    }
+
+    /**
+     * @param element the element to look for
+     * @return true if the element is in the list
+     */
+    boolean contains(Object element) {
+        return find(element) >= 0;
+    }
+
+    /**
+     * @param element the element to look for
+     * @param data the list's elements, used to rebuild stale positions
+     * @param size how many elements of the array are in use
+     * @return the position of the first occurrence, or -1
+     */
+    int firstIndex(Object element, Object[] data, int size) {
+        int slot = find(element);
+        if(slot < 0) {
+            return -1;
+        }
+        refreshPositions(data, size);
+        catchUp(slot);
+        if((stale[slot] & FIRST_STALE) != 0) {
+            //the old first occurrence is gone, the new one is the nearest to the front
+            int i = 0;
+            while(!data[i].equals(element)) {
+                i++;
+            }
+            first[slot] = i - offset;
+            stale[slot] &= ~FIRST_STALE;
+        }
+        return first[slot] + offset;
+    }
+
+    /**
+     * @param element the element to look for
+     * @param data the list's elements, used to rebuild stale positions
+     * @param size how many elements of the array are in use
+     * @return the position of the last occurrence, or -1
+     */
+    int lastIndex(Object element, Object[] data, int size) {
+        int slot = find(element);
+        if(slot < 0) {
+            return -1;
+        }
+        refreshPositions(data, size);
+        catchUp(slot);
+        if((stale[slot] & LAST_STALE) != 0) {
+            //the old last occurrence is gone, the new one is the nearest to the back
+            int i = size - 1;
+            while(!data[i].equals(element)) {
+                i--;
+            }
+            last[slot] = i - offset;
+            stale[slot] &= ~LAST_STALE;
+        }
+        return last[slot] + offset;
+    }
+
+    /**
+     * Throws away everything and re-indexes the array
+     * @param data the elements to index
+     * @param size how many elements of the array are in use
+     */
+    void rebuild(Object[] data, int size) {
+        clear();
+        for(int i = 0; i < size; i++) {
+            added(data[i], i);
+        }
+    }
+
+    /**
+     * Removes every entry from the index
+     */
+    void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(counts, 0);
+        occupied = 0;
+        positionsValid = true;
+        offset = 0;
+        logSize = 0;
+    }
+
+    private void track(int slot, int stored) {
+        //a new element starts with both positions known and no shifts left to apply
+        first[slot] = stored;
+        last[slot] = stored;
+        seen[slot] = logSize;
+        stale[slot] = 0;
+    }
+
+    private void place(int slot, int stored) {
+        //one more occurrence at a known spot, which can only pull the positions outwards
+        if(counts[slot] == 0) {
+            track(slot, stored);
+            return;
+        }
+        catchUp(slot);
+        if((stale[slot] & FIRST_STALE) == 0 && stored < first[slot]) {
+            first[slot] = stored;
+        }
+        if((stale[slot] & LAST_STALE) == 0 && stored > last[slot]) {
+            last[slot] = stored;
+        }
+    }
+
+    private void forget(int slot, int stored) {
+        //one occurrence is gone, and if it was the first or last one that position is stale
+        counts[slot]--;
+        if(counts[slot] == 0) {
+            delete(slot);
+            return;
+        }
+        if(positionsValid) {
+            if(first[slot] == stored) {
+                stale[slot] |= FIRST_STALE;
+            }
+            if(last[slot] == stored) {
+                stale[slot] |= LAST_STALE;
+            }
+        }
+    }
+
+    private void log(int stored, int shift) {
+        //past the end of the log it is cheaper to rebuild everything once than to keep shifting
+        if(logSize == EDIT_LOG_SIZE) {
+            positionsValid = false;
+            return;
+        }
+        logAt[logSize] = stored;
+        logShift[logSize] = shift;
+        logSize++;
+    }
+
+    private void catchUp(int slot) {
+        //apply the middle edits this entry has not seen yet, in the order they happened
+        for(int i = seen[slot]; i < logSize; i++) {
+            first[slot] = shifted(first[slot], logAt[i], logShift[i]);
+            last[slot] = shifted(last[slot], logAt[i], logShift[i]);
+        }
+        seen[slot] = logSize;
+    }
+
+    private static int shifted(int stored, int at, int shift) {
+        //an insert moves everything from its spot up, a remove moves everything after its spot down
+        if(shift > 0) {
+            return stored >= at ? stored + shift : stored;
+        }
+        return stored > at ? stored + shift : stored;
+    }
+
+    private void refreshPositions(Object[] data, int size) {
+        if(positionsValid) {
+            return;
+        }
+
+        //one scan sets the first and last position of every element
+        Arrays.fill(first, -1);
+        Arrays.fill(seen, 0);
+        Arrays.fill(stale, (byte) 0);
+        offset = 0;
+        logSize = 0;
+        for(int i = 0; i < size; i++) {
+            int slot = find(data[i]);
+            if(first[slot] < 0) {
+                first[slot] = i;
+            }
+            last[slot] = i;
+        }
+        positionsValid = true;
+    }
+
+    private int find(Object element) {
+        int mask = keys.length - 1;
+        int slot = hash(element) & mask;
+        while(keys[slot] != null) {
+            if(keys[slot].equals(element)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int findOrInsert(Object element) {
+        int mask = keys.length - 1;
+        int slot = hash(element) & mask;
+        while(keys[slot] != null) {
+            if(keys[slot].equals(element)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        //new key, grow first if the table would be more than half full
+        if((occupied + 1) * 2 > keys.length) {
+            grow();
+            return findOrInsert(element);
+        }
+        keys[slot] = element;
+        counts[slot] = 0;
+        occupied++;
+        return slot;
+    }
+
+    private void delete(int slot) {
+        //backward shift deletion: pull later entries of the probe run into the hole
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while(keys[next] != null) {
+            int home = hash(keys[next]) & mask;
+            //move the entry if its home is not between the hole and where it sits now
+            if(((next - home) & mask) >= ((next - hole) & mask)) {
+                move(next, hole);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = null;
+        counts[hole] = 0;
+        occupied--;
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        counts[to] = counts[from];
+        first[to] = first[from];
+        last[to] = last[from];
+        seen[to] = seen[from];
+        stale[to] = stale[from];
+    }
+
+    private void grow() {
+        Object[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int[] oldFirst = first;
+        int[] oldLast = last;
+        int[] oldSeen = seen;
+        byte[] oldStale = stale;
+        allocate(oldKeys.length * 2);
+
+        //re-insert every entry into the bigger table
+        int mask = keys.length - 1;
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while(keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                first[slot] = oldFirst[i];
+                last[slot] = oldLast[i];
+                seen[slot] = oldSeen[i];
+                stale[slot] = oldStale[i];
+                occupied++;
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new Object[tableSize];
+        counts = new int[tableSize];
+        first = new int[tableSize];
+        last = new int[tableSize];
+        seen = new int[tableSize];
+        stale = new byte[tableSize];
+        occupied = 0;
+    }
+
+    private static int hash(Object element) {
+        //spread the high bits down, since the table only looks at the low bits
+        int h = element.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        return "HashIndex{" +
+                "occupied=" + occupied +
+                ", tableSize=" + keys.length +
+                ", positionsValid=" + positionsValid +
+                ", pendingShifts=" + logSize +
+                '}';
+    }
+}
@@ -0,0 +1,56 @@
+package structures.array_lists;
+
+/**
+ * This interface describes how an array backed list grows
+ * its backing array once it runs out of room.
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public interface IGrowthStrategy
+{
+    /**
+     * Reports the next capacity for a backing array that is full.
+     * The list will always use at least the capacity it needs, so
+     * a strategy only has to describe its preferred step.
+     *
+     * @param currentCapacity the length of the full backing array
+     * @return the preferred length of the new backing array
+     */
+    int grow(int currentCapacity);
+
+    /**
+     * Grows the backing array by half of its current length (1.5x).
+     *
+     * @return a strategy that grows by 50%
+     */
+    static IGrowthStrategy oneAndAHalf()
+    {
+        return currentCapacity -> currentCapacity + (currentCapacity >> 1);
+    }
+
+    /**
+     * Doubles the backing array every time it fills up (2x).
+     *
+     * @return a strategy that grows by 100%
+     */
+    static IGrowthStrategy doubling()
+    {
+        return currentCapacity -> currentCapacity << 1;
+    }
+
+    /**
+     * Grows the backing array by the same number of slots every time.
+     *
+     * @param step the number of slots to add on each growth
+     * @throws IllegalArgumentException if step is not positive
+     * @return a strategy that grows by a fixed step
+     */
+    static IGrowthStrategy fixedStep(int step)
+    {
+        if(step <= 0) {
+            throw new IllegalArgumentException("Growth step must be positive: " + step);
+        }
+        return currentCapacity -> currentCapacity + step;
+    }
+}
@@ -0,0 +1,43 @@
+package structures.array_lists;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This interface describes how to turn an element into a fixed-width
+ * binary record and back again. Every record written by a codec takes
+ * up exactly recordSize() bytes.
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public interface IRecordCodec<T>
+{
+    /**
+     * Reports the number of bytes every record takes up.
+     *
+     * @return the width of one record in bytes, always positive
+     */
+    int recordSize();
+
+    /**
+     * Writes the element into the buffer starting at the offset.
+     * Only absolute puts should be used, so the buffer's position
+     * is left alone.
+     *
+     * @param element the element to write
+     * @param buffer the buffer to write into
+     * @param offset the byte offset of the record in the buffer
+     */
+    void encode(T element, ByteBuffer buffer, int offset);
+
+    /**
+     * Reads an element back out of the buffer starting at the offset.
+     * Only absolute gets should be used, so the buffer's position
+     * is left alone.
+     *
+     * @param buffer the buffer to read from
+     * @param offset the byte offset of the record in the buffer
+     * @return the element stored in the record
+     */
+    T decode(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,321 @@
+package structures.array_lists;
+
+import java.util.*;
+
+/**
+ * This class is an array list of primitive longs. It follows the same shape as MyArrayList,
+ * but the values are stored straight in a long[] so nothing is ever boxed.
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class LongArrayList implements Iterable<Long> {
+
+    private int size;
+    private long[] structure;
+    private final IGrowthStrategy growthStrategy;
+
+    private static final int INITIAL_SIZE = 20;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * LongArrayList Constructor
+     */
+    public LongArrayList() {
+        this(INITIAL_SIZE);
+    }
+
+    /**
+     * LongArrayList Constructor that pre-sizes the backing array.
+     * @param initialCapacity the starting length of the backing array
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public LongArrayList(int initialCapacity) {
+        this(initialCapacity, IGrowthStrategy.doubling());
+    }
+
+    /**
+     * LongArrayList Constructor that pre-sizes the backing array and picks how it grows.
+     * @param initialCapacity the starting length of the backing array
+     * @param growthStrategy decides the new length when the backing array is full
+     * @throws IllegalArgumentException if initialCapacity is negative
+     * @throws NullPointerException if growthStrategy is null
+     */
+    public LongArrayList(int initialCapacity, IGrowthStrategy growthStrategy) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        } else if(growthStrategy == null) {
+            throw new NullPointerException("Growth strategy cannot be null");
+        }
+        this.structure = new long[initialCapacity];
+        this.growthStrategy = growthStrategy;
+    }
+
+    /**
+     * @return the number of values in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no values in the list
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the length of the backing array
+     */
+    public int capacity() {
+        return structure.length;
+    }
+
+    /**
+     * Adds a value to the end of the list
+     * @param value the value to add
+     * @return always true, like MyArrayList.add()
+     */
+    public boolean add(long value) {
+        if(size == structure.length) {
+            ensureCapacity(size + 1);
+        }
+        structure[size] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Inserts a value at the index, shifting everything after it up one slot
+     * @param index where the value should go, from 0 to size()
+     * @param value the value to insert
+     */
+    public void add(int index, long value) {
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index out of bounds: " + index);
+        }
+        if(size == structure.length) {
+            ensureCapacity(size + 1);
+        }
+        System.arraycopy(structure, index, structure, index + 1, size - index);
+        structure[index] = value;
+        size++;
+    }
+
+    /**
+     * @param index the position of the value
+     * @return the value at the index
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return structure[index];
+    }
+
+    /**
+     * Replaces the value at the index
+     * @param index the position of the value
+     * @param value the new value
+     * @return the value that was replaced
+     */
+    public long set(int index, long value) {
+        checkIndex(index);
+        long prevItem = structure[index];
+        structure[index] = value;
+        return prevItem;
+    }
+
+    /**
+     * Removes the value at the index, shifting everything after it down one slot
+     * @param index the position of the value
+     * @return the value that was removed
+     */
+    public long removeAt(int index) {
+        checkIndex(index);
+        long item = structure[index];
+        System.arraycopy(structure, index + 1, structure, index, size - index - 1);
+        size--;
+        return item;
+    }
+
+    /**
+     * Removes the first occurrence of the value
+     * @param value the value to remove
+     * @return true if the value was found and removed
+     */
+    public boolean removeValue(long value) {
+        int index = indexOf(value);
+        if(index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * @param value the value to look for
+     * @return true if the value is in the list
+     */
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * @param value the value to look for
+     * @return the index of the first occurrence, or -1 if it is not in the list
+     */
+    public int indexOf(long value) {
+        return PrimitiveScans.indexOf(structure, size, value);
+    }
+
+    /**
+     * @param value the value to look for
+     * @return the index of the last occurrence, or -1 if it is not in the list
+     */
+    public int lastIndexOf(long value) {
+        long[] data = structure;
+        for(int i = size - 1; i >= 0; i--) {
+            if(data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param value the value to count
+     * @return how many times the value is in the list
+     */
+    public int count(long value) {
+        return PrimitiveScans.count(structure, size, value);
+    }
+
+    /**
+     * @param low the smallest value to count
+     * @param high the largest value to count
+     * @return how many values in the list are between low and high, inclusive
+     */
+    public int countBetween(long low, long high) {
+        return PrimitiveScans.countBetween(structure, size, low, high);
+    }
+
+    /**
+     * @return the sum of every value, wrapping around on overflow like + does
+     */
+    public long sum() {
+        return PrimitiveScans.sum(structure, size);
+    }
+
+    /**
+     * @return the smallest value in the list
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long min() {
+        if(isEmpty()) {
+            throw new NoSuchElementException("Cannot find the minimum of an empty list");
+        }
+        return PrimitiveScans.min(structure, size);
+    }
+
+    /**
+     * @return the largest value in the list
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long max() {
+        if(isEmpty()) {
+            throw new NoSuchElementException("Cannot find the maximum of an empty list");
+        }
+        return PrimitiveScans.max(structure, size);
+    }
+
+    /**
+     * Sorts the values in ascending order, directly in the backing array
+     */
+    public void sort() {
+        Arrays.sort(structure, 0, size);
+    }
+
+    /**
+     * Removes every value, keeping the backing array
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Makes sure the backing array can hold at least minCapacity values without another resize.
+     * @param minCapacity the number of values the list should be able to hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        if(minCapacity <= structure.length) {
+            return; //already have room
+        } else if(minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity is too large: " + minCapacity);
+        }
+
+        //ask the strategy first, but never go below what was asked for (or overflow)
+        int newCapacity = growthStrategy.grow(structure.length);
+        if(newCapacity < minCapacity) {
+            newCapacity = minCapacity;
+        } else if(newCapacity > MAX_CAPACITY) {
+            newCapacity = MAX_CAPACITY;
+        }
+        structure = Arrays.copyOf(structure, newCapacity);
+    }
+
+    /**
+     * Shrinks the backing array down to the number of values in the list
+     */
+    public void trimToSize() {
+        if(size < structure.length) {
+            structure = Arrays.copyOf(structure, size);
+        }
+    }
+
+    /**
+     * @return a new long[] holding every value in the list
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(structure, size);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongArrayListIterator();
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0) {
+            throw new IndexOutOfBoundsException("Index cannot be negative");
+        } else if(index >= size) {
+            throw new IndexOutOfBoundsException("Index is greater than the size of the list");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongArrayList { " +
+                "\n size = " + size +
+                "\n structure = " + Arrays.toString(toArray()) +
+                "\n}";
+    }
+
+    private class LongArrayListIterator implements PrimitiveIterator.OfLong {
+
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public long nextLong() {
+            if(index >= size) {
+                throw new NoSuchElementException("No more values in the list");
+            }
+            long item = structure[index];
+            index++;
+            return item;
+        }
+    }
+}
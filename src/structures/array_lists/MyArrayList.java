@@ -1,6 +1,13 @@
 package structures.array_lists;
 
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * This class is a custom ArrayList data structure that i'm making as proof of comprehension.
@@ -12,15 +19,53 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
 
     private int size;
     private T[] structure;
+    private final IGrowthStrategy growthStrategy;
+    private HashIndex hashIndex; //only kept while the list is in indexed mode
+    private TombstoneRank tombstones; //only kept while the list is in lazy delete mode
+    private double compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private int modCount; //this will keep track of how many structural changes have been made
 
     private static final int INITIAL_SIZE = 20;
-    private static final double RESIZE_RATE = 0.75;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final double DEFAULT_COMPACTION_THRESHOLD = 0.25;
+
+    private static final int FILE_MAGIC = 0x4D59414C; //"MYAL"
+    private static final int FILE_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 16;
+    private static final int MAX_MAPPED_WINDOW = 1 << 30; //bytes mapped at once
 
     /**
      * MyArrayList Constructor
      */
     public MyArrayList() {
-        structure = (T[]) new Object[INITIAL_SIZE];
+        this(INITIAL_SIZE);
+    }
+
+    /**
+     * MyArrayList Constructor that pre-sizes the backing array, so that
+     * up to initialCapacity elements can be added without a resize.
+     * @param initialCapacity the starting length of the backing array
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public MyArrayList(int initialCapacity) {
+        this(initialCapacity, IGrowthStrategy.doubling());
+    }
+
+    /**
+     * MyArrayList Constructor that pre-sizes the backing array and picks how it grows.
+     * @param initialCapacity the starting length of the backing array
+     * @param growthStrategy decides the new length when the backing array is full
+     * @throws IllegalArgumentException if initialCapacity is negative
+     * @throws NullPointerException if growthStrategy is null
+     */
+    public MyArrayList(int initialCapacity, IGrowthStrategy growthStrategy) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        } else if(growthStrategy == null) {
+            throw new NullPointerException("Growth strategy cannot be null");
+        }
+        this.structure = (T[]) new Object[initialCapacity];
+        this.growthStrategy = growthStrategy;
     }
 
     @Override
@@ -35,23 +80,271 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
 
     @Override
     public boolean contains(Object object) {
-        T element = castElement(object);
+        if(object == null) {
+            return false;
+        } else if(hashIndex != null) {
+            return hashIndex.contains(object);
+        }
 
-        for (T item : structure) {
-            if(item != null) {
-                if (item.equals(element)) {
-                    return true;
-                }
+        //only the first size slots hold elements, plus any tombstones between them
+        int end = physicalEnd();
+        for(int i = 0; i < end; i++) {
+            if(structure[i] != null && structure[i].equals(object)) {
+                return true;
             }
         }
         return false;
     }
 
+    /**
+     * Turns indexed mode on or off. While it is on, the list keeps a hash index from
+     * each element to its count and positions, which makes contains(), indexOf() and
+     * lastIndexOf() O(1) and lets the bulk operations run in linear time.
+     * Turning it on indexes the current elements in one pass.
+     * @param indexed true to keep the hash index, false to drop it
+     */
+    public void setIndexed(boolean indexed) {
+        if(indexed && hashIndex == null) {
+            compactNow();
+            hashIndex = HashIndex.of(structure, size);
+        } else if(!indexed) {
+            hashIndex = null;
+        }
+    }
+
+    /**
+     * @return true if the list is keeping a hash index of its elements
+     */
+    public boolean isIndexed() {
+        return hashIndex != null;
+    }
+
+    /**
+     * Turns lazy delete mode on or off. While it is on, remove() does not shift the elements
+     * after the removed one. It only clears the slot and marks it as a tombstone, and a rank
+     * structure over the tombstones lets get() and set() skip them in O(log n). The list is
+     * compacted in one pass once the tombstones pass the compaction threshold, or before any
+     * operation that works on the backing array directly (iteration, bulk copies, sorting).
+     * Turning it off compacts the list.
+     * @param lazyDelete true to delete lazily, false to shift on every remove
+     */
+    public void setLazyDelete(boolean lazyDelete) {
+        if(lazyDelete && tombstones == null) {
+            tombstones = new TombstoneRank();
+            tombstones.reset(structure.length);
+        } else if(!lazyDelete) {
+            compactNow();
+            tombstones = null;
+        }
+    }
+
+    /**
+     * @return true if remove() leaves tombstones instead of shifting elements
+     */
+    public boolean isLazyDelete() {
+        return tombstones != null;
+    }
+
+    /**
+     * Sets how many tombstones lazy delete mode allows before it compacts the list.
+     * @param threshold the largest fraction of used slots that can be tombstones, from 0 to 1
+     * @throws IllegalArgumentException if threshold is not between 0 and 1
+     */
+    public void setCompactionThreshold(double threshold) {
+        if(!(threshold >= 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("Compaction threshold must be between 0 and 1: " + threshold);
+        }
+        compactionThreshold = threshold;
+    }
+
+    /**
+     * Removes every tombstone left by lazy delete mode, sliding the elements down over
+     * them in one pass. Does nothing if there are none.
+     */
+    public void compactNow() {
+        if(tombstones == null || tombstones.dead() == 0) {
+            return;
+        }
+
+        //tombstones are the only null slots, so keep every non-null one
+        int end = physicalEnd();
+        int write = 0;
+        for(int read = 0; read < end; read++) {
+            T item = structure[read];
+            if(item != null) {
+                structure[write] = item;
+                write++;
+            }
+        }
+        Arrays.fill(structure, write, end, null);
+        tombstones.reset(structure.length);
+    }
+
+    private int physicalEnd() {
+        //one past the last used slot, tombstones included
+        return tombstones == null ? size : size + tombstones.dead();
+    }
+
+    private int slotOf(int index) {
+        //skip over the tombstones before the index, if there are any
+        if(tombstones == null || tombstones.dead() == 0) {
+            return index;
+        }
+        return tombstones.select(index);
+    }
+
+    private T lazyRemove(int slot, int index) {
+        T item = structure[slot];
+        if(hashIndex != null) {
+            hashIndex.removed(item, index, size);
+        }
+        structure[slot] = null;
+
+        //the last used slot can just be dropped, anything else becomes a tombstone
+        if(slot != physicalEnd() - 1) {
+            if(tombstones.dead() == 0) {
+                tombstones.reset(structure.length); //the array may have grown since the last compaction
+            }
+            tombstones.mark(slot);
+        }
+        size--;
+        modCount++; //record the change
+
+        if(tombstones.dead() > compactionThreshold * physicalEnd()) {
+            compactNow();
+        }
+        return item;
+    }
+
     @Override
     public Iterator<T> iterator() {
+        compactNow();
         return new MyArrayListIterator<>();
     }
 
+    /**
+     * Creates a spliterator that splits the backing array range in half each time,
+     * so parallel streams spread the list evenly across threads. It reports
+     * ORDERED, SIZED, SUBSIZED and NONNULL, and fails fast if the list is
+     * structurally changed while it is in use.
+     * @return a spliterator over the elements of the list
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new MyArrayListSpliterator(0, -1, 0);
+    }
+
+    /**
+     * Takes a point-in-time copy of the list as a persistent vector. The copy is bulk
+     * loaded 32 elements at a time, and every later version made from it (set, append,
+     * pop) only costs O(log32 n) new nodes, sharing the rest with this snapshot.
+     * <p>
+     * Taking the snapshot itself is O(n): the list is a plain array, so every call copies
+     * all of it. Take one snapshot and derive versions from it, rather than calling this
+     * before every read.
+     * @return an immutable snapshot of the elements in the list
+     */
+    public PersistentVector<T> snapshot() {
+        compactNow();
+        return PersistentVector.<T>builder().addAll(structure, 0, size).build();
+    }
+
+    /**
+     * Saves the list to a compact binary file. The file has a small header (a magic number,
+     * the format version, the record size and the element count) followed by every element
+     * as a fixed-width record. The records are written through memory mapped windows of the
+     * file, so nothing is buffered on the heap.
+     * <p>
+     * Fixed-width records are what let load() find any record by arithmetic and pre-size the
+     * list, but it also means elements of varying length, like arbitrary Strings, cannot be
+     * stored as they are. The codec has to pad or truncate them to recordSize() bytes itself,
+     * and anything that does not fit needs a different format.
+     * @param path the file to write, replaced if it already exists
+     * @param codec writes each element as a fixed-width record
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the codec's record size is not positive
+     */
+    public void save(Path path, IRecordCodec<T> codec) throws IOException {
+        compactNow();
+        int recordSize = codec.recordSize();
+        if(recordSize <= 0) {
+            throw new IllegalArgumentException("Record size must be positive: " + recordSize);
+        }
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER_SIZE);
+            header.putInt(0, FILE_MAGIC);
+            header.putInt(4, FILE_VERSION);
+            header.putInt(8, recordSize);
+            header.putInt(12, size);
+            header.force();
+
+            //map the records a window at a time, so huge lists do not need one giant mapping
+            int windowRecords = Math.max(1, MAX_MAPPED_WINDOW / recordSize);
+            for(int start = 0; start < size; start += windowRecords) {
+                int count = Math.min(windowRecords, size - start);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE,
+                        FILE_HEADER_SIZE + (long) start * recordSize, (long) count * recordSize);
+                for(int i = 0; i < count; i++) {
+                    codec.encode(structure[start + i], window, i * recordSize);
+                }
+                window.force();
+            }
+        }
+    }
+
+    /**
+     * Loads a list that was written by save(). The list is pre-sized from the header and
+     * the records are decoded straight out of memory mapped windows of the file into the
+     * backing array, so there are no intermediate copies and no resizes.
+     * @param path the file to read
+     * @param codec reads each element back from its fixed-width record
+     * @param <T> is the generic element to be stored
+     * @return a new list holding every element in the file
+     * @throws IOException if the file cannot be read, or was not written by save() with this codec
+     * @throws IllegalArgumentException if the codec's record size is not positive
+     */
+    public static <T> MyArrayList<T> load(Path path, IRecordCodec<T> codec) throws IOException {
+        int recordSize = codec.recordSize();
+        if(recordSize <= 0) {
+            throw new IllegalArgumentException("Record size must be positive: " + recordSize);
+        }
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() < FILE_HEADER_SIZE) {
+                throw new IOException("File is too small to be a saved list: " + path);
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_HEADER_SIZE);
+            if(header.getInt(0) != FILE_MAGIC || header.getInt(4) != FILE_VERSION) {
+                throw new IOException("File is not a saved list: " + path);
+            } else if(header.getInt(8) != recordSize) {
+                throw new IOException("Record size in the file (" + header.getInt(8) +
+                        ") does not match the codec (" + recordSize + ")");
+            }
+            int count = header.getInt(12);
+            if(count < 0 || channel.size() != FILE_HEADER_SIZE + (long) count * recordSize) {
+                throw new IOException("File length does not match its element count: " + path);
+            }
+
+            MyArrayList<T> list = new MyArrayList<>(count);
+            int windowRecords = Math.max(1, MAX_MAPPED_WINDOW / recordSize);
+            for(int start = 0; start < count; start += windowRecords) {
+                int records = Math.min(windowRecords, count - start);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        FILE_HEADER_SIZE + (long) start * recordSize, (long) records * recordSize);
+                for(int i = 0; i < records; i++) {
+                    T element = codec.decode(window, i * recordSize);
+                    if(element == null) {
+                        throw new IOException("Codec decoded a null element at index " + (start + i));
+                    }
+                    list.structure[list.size] = element;
+                    list.size++;
+                }
+            }
+            return list;
+        }
+    }
+
     @Override
     public T[] toArray() {
         return getNoNullCopy();
@@ -59,7 +352,10 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
 
     @Override
     public boolean add(Object object) {
-        //check to see if there is room
+        //check to see if there is room, compacting away any tombstones before growing
+        if(physicalEnd() == structure.length) {
+            compactNow();
+        }
         if(needsResize()) {
             resize();
         }
@@ -68,55 +364,83 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
         if(object == null) {
             throw new NullPointerException("Cannot add null values into the list");
         } else {
-            structure[size] = castElement(object);
+            structure[physicalEnd()] = castElement(object);
+            if(hashIndex != null) {
+                hashIndex.added(object, size);
+            }
             size++;
+            modCount++; //record the change
             return true;
         }
     }
 
     private boolean needsResize() {
-        if(size == 0) {
-            return true;
-        } else {
-            return (size / structure.length) >= RESIZE_RATE;
-        }
+        //only grow once every slot is taken
+        return size == structure.length;
     }
 
     private void resize() {
-        //create temp
-        T[] temp = (T[]) new Object[(structure.length + 1) * 2];
-
-        //copy over all elements to the temp, and reassign
-        System.arraycopy(structure, 0, temp, 0, structure.length);
-
-        structure = temp;
+        ensureCapacity(size + 1);
     }
 
-    private void ensureCapacity(int minCapacity) {
-        //create temp
-        T[] temp = (T[]) new Object[minCapacity];
+    /**
+     * Makes sure the backing array can hold at least minCapacity elements
+     * without another resize. The array grows by the growth strategy, or
+     * straight to minCapacity if the strategy's step is not big enough.
+     * @param minCapacity the number of elements the list should be able to hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        compactNow();
+        if(minCapacity <= structure.length) {
+            return; //already have room
+        } else if(minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity is too large: " + minCapacity);
+        }
 
-        //copy over all elements to the temp, and reassign
-        System.arraycopy(structure, 0, temp, 0, structure.length);
+        //ask the strategy first, but never go below what was asked for (or overflow)
+        int newCapacity = growthStrategy.grow(structure.length);
+        if(newCapacity < minCapacity) {
+            newCapacity = minCapacity;
+        } else if(newCapacity > MAX_CAPACITY) {
+            newCapacity = MAX_CAPACITY;
+        }
 
+        //create temp, copy over the live elements, and reassign
+        T[] temp = (T[]) new Object[newCapacity];
+        System.arraycopy(structure, 0, temp, 0, size);
         structure = temp;
     }
 
-    private void trimToSize() {
-        //this function gets rid of all t
-        // he null values in the structure
-        //create temp
-        T[] temp = (T[]) new Object[size];
-
-        //copy over all elements to the temp, and reassign
-        int counter = 0;
-        for(T item : structure) {
-            if(item != null) {
-                temp[counter] = item;
-                counter++;
-            }
+    /**
+     * Shrinks the backing array down to the number of elements in the list,
+     * releasing any unused capacity.
+     */
+    public void trimToSize() {
+        compactNow();
+        if(size < structure.length) {
+            structure = Arrays.copyOf(structure, size);
         }
-        structure = temp;
+    }
+
+    /**
+     * Hands the backing array over to the caller, trimmed to the size, and leaves the list
+     * empty, so the array is never written to again through this list.
+     * @return an array holding exactly the elements of the list
+     */
+    Object[] takeArray() {
+        trimToSize();
+        Object[] array = structure;
+        structure = (T[]) new Object[INITIAL_SIZE]; //clear() keeps its array, so detach it first
+        clear();
+        return array;
+    }
+
+    /**
+     * @return the length of the backing array, which is how many elements
+     * the list can hold before it has to grow
+     */
+    public int capacity() {
+        return structure.length;
     }
 
     @Override
@@ -128,32 +452,118 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
             throw new NoSuchElementException("Cannot remove object from an empty list");
         }
 
-        if(!contains(object)) { //cant remove it if it's not in structure
-            return false;
-        } else {
-            object = castElement(object);
-            for(int i = 0; i < size; i++) {
-                if(structure[i].equals(object)) {
-                    structure[i] = null;
-                    size--;
+        //in lazy delete mode, tombstone the first occurrence where it is
+        if(tombstones != null) {
+            if(hashIndex != null && !hashIndex.contains(object)) {
+                return false;
+            }
+            int end = physicalEnd();
+            int index = 0; //the list index of the slot, which skips the tombstones
+            for(int slot = 0; slot < end; slot++) {
+                if(structure[slot] != null) {
+                    if(structure[slot].equals(object)) {
+                        lazyRemove(slot, index);
+                        return true;
+                    }
+                    index++;
                 }
             }
-            trimToSize();
-            return true;
+            return false;
+        }
+
+        //find the first occurrence, cant remove it if it's not in structure
+        int index = indexOf(object);
+        if(index < 0) {
+            return false;
+        }
+        fastRemove(index);
+        return true;
+    }
+
+    private void fastRemove(int index) {
+        if(hashIndex != null) {
+            hashIndex.removed(structure[index], index, size);
         }
+
+        //shift everything after the index down one slot, capacity stays the same
+        int moved = size - index - 1;
+        if(moved > 0) {
+            System.arraycopy(structure, index + 1, structure, index, moved);
+        }
+        size--;
+        structure[size] = null; //let the garbage collector reclaim the old last slot
+        modCount++; //record the change
     }
 
     @Override
     public boolean addAll(Collection collection) {
-        //save size before
-        int initSize = size;
+        //one copy out of the collection, then one bulk copy in
+        Object[] items = collection.toArray();
+        addAll((T[]) items, 0, items.length);
+        return items.length > 0;
+    }
 
-        for(Object item : collection) {
-            add(item);
+    /**
+     * Appends a range of an array to the end of the list. The list grows at most once and
+     * the whole range is copied in with one System.arraycopy.
+     * @param source the array to copy from
+     * @param offset where to start in the array
+     * @param length how many elements to copy
+     * @throws IndexOutOfBoundsException if the range is outside of the array
+     * @throws NullPointerException if the range holds a null element
+     */
+    public void addAll(T[] source, int offset, int length) {
+        rangeCheck(source.length, offset, length);
+        nullCheck(source, offset, length);
+
+        compactNow();
+        ensureCapacity(size + length);
+        System.arraycopy(source, offset, structure, size, length);
+        if(hashIndex != null) {
+            for(int i = 0; i < length; i++) {
+                hashIndex.added(source[offset + i], size + i);
+            }
         }
+        size += length;
+        modCount++; //record the change
+    }
+
+    /**
+     * Copies a range of the list into a caller's array, so a buffer can be reused between calls.
+     * @param from the index in the list to start at
+     * @param destination the array to copy into
+     * @param destinationOffset where to start in the array
+     * @param length how many elements to copy
+     * @throws IndexOutOfBoundsException if the range is outside of the list or the array
+     */
+    public void getRange(int from, T[] destination, int destinationOffset, int length) {
+        compactNow();
+        rangeCheck(size, from, length);
+        rangeCheck(destination.length, destinationOffset, length);
+        System.arraycopy(structure, from, destination, destinationOffset, length);
+    }
 
-        //then items added successfully
-        return initSize < size;
+    /**
+     * Replaces a range of the list with a range of an array, in one System.arraycopy.
+     * @param from the index in the list to start at
+     * @param source the array to copy from
+     * @param sourceOffset where to start in the array
+     * @param length how many elements to replace
+     * @throws IndexOutOfBoundsException if the range is outside of the list or the array
+     * @throws NullPointerException if the array range holds a null element
+     */
+    public void setRange(int from, T[] source, int sourceOffset, int length) {
+        rangeCheck(size, from, length);
+        rangeCheck(source.length, sourceOffset, length);
+        nullCheck(source, sourceOffset, length);
+
+        compactNow();
+        if(hashIndex != null) {
+            for(int i = 0; i < length; i++) {
+                hashIndex.replaced(structure[from + i], source[sourceOffset + i], from + i);
+            }
+        }
+        System.arraycopy(source, sourceOffset, structure, from, length);
     }
 
     @Override
@@ -166,44 +576,52 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
             throw new NullPointerException("the specified collection is null");
         }
 
-        if(index > size) {
-            index = size;
+        Object[] items = collection.toArray();
+        nullCheck(items, 0, items.length);
+        compactNow();
+
+        //grow once, open a gap at the index, then copy the collection into it
+        ensureCapacity(size + items.length);
+        System.arraycopy(structure, index, structure, index + items.length, size - index);
+        System.arraycopy(items, 0, structure, index, items.length);
+        if(hashIndex != null) {
+            for(int i = 0; i < items.length; i++) {
+                hashIndex.inserted(items[i], index + i, size + i);
+            }
         }
 
-        //make sure structure has the index
-        if(structure.length < size + collection.size()) {
-            ensureCapacity(structure.length + collection.size());
-        }
+        size += items.length;
+        modCount++; //record the change
+        return true;
+    }
 
-        //then merge them starting with the collection at the desired index
-        T[] temp = (T[]) new Object[structure.length];
-        for(Object item : collection) {
-            temp[index] = (T) item;
-            index++;
+    private static void rangeCheck(int length, int offset, int count) {
+        if(offset < 0 || count < 0 || offset > length - count) {
+            throw new IndexOutOfBoundsException("range [" + offset + ", " + offset + " + " + count +
+                    ") is out of bounds for length " + length);
         }
+    }
 
-        //then add in the rest from structure
-        int counter = 0;
-        for (T item : structure) {
-            if (item != null) { //then add item while i can find a spot
-                if(temp[counter] != null) {
-                    counter = index;
-                }
-                temp[counter] = item;
-                counter++;
+    private static void nullCheck(Object[] items, int offset, int length) {
+        for(int i = offset; i < offset + length; i++) {
+            if(items[i] == null) {
+                throw new NullPointerException("Cannot add null values into the list");
             }
         }
-
-        //reset structure
-        structure = temp;
-        size+= collection.size();
-        return true;
     }
 
     @Override
     public void clear() {
-        structure = (T[]) new Object[INITIAL_SIZE];
+        //keep the backing array, so a pre-sized list does not have to grow again
+        Arrays.fill(structure, 0, physicalEnd(), null);
         size = 0;
+        modCount++; //record the change
+        if(hashIndex != null) {
+            hashIndex.clear();
+        }
+        if(tombstones != null) {
+            tombstones.reset(structure.length);
+        }
     }
 
     @Override
@@ -213,7 +631,7 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
         } else if(index >= size) {
             throw new IndexOutOfBoundsException("Index is greater than the size of the ArrayList");
         }
-        return structure[index];
+        return structure[slotOf(index)];
     }
 
     @Override
@@ -222,10 +640,16 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
             throw new IndexOutOfBoundsException("Index cannot be negative");
         } else if(index >= size) {
             throw new IndexOutOfBoundsException("Index is greater than the size of the ArrayList");
+        } else if(element == null) {
+            throw new NullPointerException("Cannot add null values into the list");
         }
 
-        T prevItem = structure[index];
-        structure[index] = element;
+        int slot = slotOf(index);
+        T prevItem = structure[slot];
+        structure[slot] = element;
+        if(hashIndex != null) {
+            hashIndex.replaced(prevItem, element, index);
+        }
         return prevItem;
     }
 
@@ -233,35 +657,47 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
     public void add(int index, T element) {
         if(index < 0) {
             throw new IndexOutOfBoundsException("Index cannot be negative");
-        } else if(index >= size) {
+        } else if(index > size) {
             throw new IndexOutOfBoundsException("Index is greater than the size of the ArrayList");
         }
 
-        if(structure[index] == null) {
-            structure[index] = element;
-        } else {
-            Collection<T> collection = new LinkedList<>();
-            collection.add(element);
-            addAll(index, collection);
+        if(element == null) {
+            throw new NullPointerException("Cannot add null values into the list");
+        }
+
+        //shift everything from the index up one slot to make room, index == size is an append
+        compactNow();
+        if(needsResize()) {
+            resize();
         }
+        System.arraycopy(structure, index, structure, index + 1, size - index);
+        structure[index] = element;
+        if(hashIndex != null) {
+            hashIndex.inserted(element, index, size);
+        }
+        size++;
+        modCount++; //record the change
     }
 
     @Override
     public T remove(int index) {
         if(index < 0 || index >= size()) {
             throw new IndexOutOfBoundsException("index out of bounds: " + index);
+        } else if(tombstones != null) {
+            return lazyRemove(slotOf(index), index);
         }
         T item = structure[index];
-        structure[index] = null;
-        size--;
-        trimToSize();
+        fastRemove(index);
         return item;
     }
 
     @Override
     public int indexOf(Object object) {
+        compactNow();
         if(object == null || size == 0) {
             return -1;
+        } else if(hashIndex != null) {
+            return hashIndex.firstIndex(object, structure, size);
         }
 
         for(int i = 0; i < size; i++) {
@@ -274,8 +710,11 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
 
     @Override
     public int lastIndexOf(Object object) {
+        compactNow();
         if(object == null || size == 0) {
             return -1;
+        } else if(hashIndex != null) {
+            return hashIndex.lastIndex(object, structure, size);
         }
 
         for(int i = size-1; i >= 0; i--) {
@@ -286,72 +725,193 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
         return -1;
     }
 
+    /**
+     * Sorts the list in place, directly on the backing array.
+     * @param comparator decides the order, or null to use the elements' natural ordering
+     */
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        compactNow();
+        int expectedModCount = modCount;
+        Arrays.sort(structure, 0, size, comparator);
+        sorted(expectedModCount);
+    }
+
+    /**
+     * Sorts the list in place with a fork-join parallel merge sort across all cores.
+     * Small lists are sorted on the calling thread.
+     * @param comparator decides the order, or null to use the elements' natural ordering
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        compactNow();
+        int expectedModCount = modCount;
+        if(comparator == null) {
+            Arrays.parallelSort(structure, 0, size, (Comparator<? super T>) Comparator.naturalOrder());
+        } else {
+            Arrays.parallelSort(structure, 0, size, comparator);
+        }
+        sorted(expectedModCount);
+    }
+
+    /**
+     * Searches a sorted list for the key in O(log n). The list has to be sorted with the
+     * same comparator first, otherwise the result is undefined.
+     * @param key the element to look for
+     * @param comparator the order the list is sorted in, or null for natural ordering
+     * @return the index of the key, or (-(insertion point) - 1) if it is not in the list
+     */
+    public int binarySearch(T key, Comparator<? super T> comparator) {
+        if(key == null) {
+            throw new NullPointerException("Cannot search for a null value");
+        }
+        compactNow();
+        return Arrays.binarySearch(structure, 0, size, key, comparator);
+    }
+
+    private void sorted(int expectedModCount) {
+        if(modCount != expectedModCount) {
+            throw new ConcurrentModificationException("Changes were made while sorting");
+        }
+        modCount++; //record the change
+
+        //every element may have moved, but the counts are the same
+        if(hashIndex != null) {
+            hashIndex.invalidatePositions();
+        }
+    }
+
     @Override
     public ListIterator<T> listIterator() {
+        compactNow();
         return new MyArrayListIterator<>();
     }
 
     @Override
     public ListIterator<T> listIterator(int index) {
+        compactNow();
         return new MyArrayListIterator<>(index);
     }
 
     @Override
     public List<T> subList(int fromIndex, int toIndex) {
+        subListRangeCheck(fromIndex, toIndex, size);
+        compactNow();
+
+        //a view over the backing array, nothing is copied
+        return new SubList(fromIndex, toIndex - fromIndex);
+    }
 
+    private static void subListRangeCheck(int fromIndex, int toIndex, int size) {
         if(fromIndex < 0 || toIndex > size) {
             throw new IndexOutOfBoundsException("an endpoint index value is out of range");
         } else if(fromIndex > toIndex) {
             throw new IllegalArgumentException("the endpoint indices are out of order");
         }
-
-        List<T> temp = new MyArrayList<>();
-
-        while(fromIndex <= toIndex) {
-            temp.add(structure[fromIndex]);
-            fromIndex++;
-        }
-
-        return temp;
     }
 
     @Override
     public boolean retainAll(Collection collection) {
         collectionCheck(collection);
+        return batchRemove(collection, true);
+    }
 
-        //record size for comparison.
-        int preSize = size();
+    @Override
+    public boolean removeAll(Collection collection) {
+        collectionCheck(collection);
+        return batchRemove(collection, false);
+    }
 
-        //if the structure contains the item, save it. if the structure doesnt have the item, dont add it.
-        T[] temp = (T[]) new Object[collection.size()];
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        if(filter == null) {
+            throw new NullPointerException("filter cannot be null");
+        }
 
-        //reset size
-        size = 0;
-        for(Object item : collection) {
-            if(contains(item)) {
-               temp[size] = (T) item;
-               size++;
+        //single compaction pass: keep everything the filter does not match
+        compactNow();
+        int preSize = size;
+        int read = 0;
+        int write = 0;
+        try {
+            for(; read < size; read++) {
+                T item = structure[read];
+                if(!filter.test(item)) {
+                    structure[write] = item;
+                    write++;
+                }
             }
+        } finally {
+            //if the filter threw, keep the unvisited tail so nothing is lost
+            closeGap(read, write);
+            reindexIfChanged(preSize);
         }
-        //reassign
-        structure = temp;
-        return preSize != size;
+        return size != preSize;
     }
 
-    @Override
-    public boolean removeAll(Collection collection) {
-        collectionCheck(collection);
+    private boolean batchRemove(Collection<?> collection, boolean retain) {
+        //in indexed mode, index the other collection too so each lookup is O(1)
+        Collection<?> lookup = collection;
+        if(hashIndex != null && !(collection instanceof Set)) {
+            Object[] other = collection.toArray();
+            HashIndex otherIndex = HashIndex.of(other, other.length);
+            lookup = new AbstractSet<Object>() {
+                @Override
+                public boolean contains(Object object) {
+                    return otherIndex.contains(object);
+                }
 
-        //record list size
-        int preSize = size;
+                @Override
+                public Iterator<Object> iterator() {
+                    return Arrays.asList(other).iterator();
+                }
 
-        for(Object item : collection) {
-            if(contains(item)) {
-                remove(item);
+                @Override
+                public int size() {
+                    return other.length;
+                }
+            };
+        }
+
+        //single compaction pass: slide every kept element down over the removed ones
+        compactNow();
+        int preSize = size;
+        int read = 0;
+        int write = 0;
+        try {
+            for(; read < size; read++) {
+                T item = structure[read];
+                if(lookup.contains(item) == retain) {
+                    structure[write] = item;
+                    write++;
+                }
             }
+        } finally {
+            //if contains() threw, keep the unvisited tail so nothing is lost
+            closeGap(read, write);
+            reindexIfChanged(preSize);
+        }
+        return size != preSize;
+    }
+
+    private void reindexIfChanged(int preSize) {
+        //a compaction pass can drop any number of elements, so re-index in one pass
+        if(hashIndex != null && preSize != size) {
+            hashIndex.rebuild(structure, size);
         }
+    }
 
-        return size != preSize; //if list changed
+    private void closeGap(int read, int write) {
+        //move any unvisited elements down, then clear the freed slots
+        int remaining = size - read;
+        if(remaining > 0) {
+            System.arraycopy(structure, read, structure, write, remaining);
+            write += remaining;
+        }
+        Arrays.fill(structure, write, size, null);
+        if(write != size) {
+            modCount++; //record the change
+        }
+        size = write;
     }
 
     @Override
@@ -392,7 +952,12 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
             throw new NullPointerException("collection contains a null element or is null");
         }
 
-        String myGenericType = structure[0].getClass().getTypeName();
+        //nothing to compare the types of
+        if(isEmpty() || collection.isEmpty()) {
+            return;
+        }
+
+        String myGenericType = get(0).getClass().getTypeName(); //get() skips tombstones, structure[0] may be one
         String otherGenericType = collection.iterator().next().getClass().getTypeName();
 
         if(!myGenericType.equals(otherGenericType)) {
@@ -409,6 +974,159 @@ public class MyArrayList<T> implements List<T>, Iterable<T> {
                 "\n}";
     }
 
+    /**
+     * A range view over part of the backing array. Reads and set() go straight to the
+     * list, and the view fails fast once the list is structurally changed. The view
+     * itself cannot add or remove elements.
+     */
+    private class SubList extends AbstractList<T> implements RandomAccess {
+
+        private final int offset;
+        private final int size;
+        private final int expectedModCount;
+
+        private SubList(int offset, int size) {
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = MyArrayList.this.modCount;
+        }
+
+        @Override
+        public T get(int index) {
+            checkForComodification();
+            checkIndex(index);
+            return structure[offset + index];
+        }
+
+        @Override
+        public T set(int index, T element) {
+            checkForComodification();
+            checkIndex(index);
+            return MyArrayList.this.set(offset + index, element);
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public List<T> subList(int fromIndex, int toIndex) {
+            checkForComodification();
+            subListRangeCheck(fromIndex, toIndex, size);
+            return new SubList(offset + fromIndex, toIndex - fromIndex);
+        }
+
+        private void checkIndex(int index) {
+            if(index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index out of bounds: " + index);
+            }
+        }
+
+        private void checkForComodification() {
+            if(MyArrayList.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException("The list was changed after the sub list was made");
+            }
+        }
+    }
+
+    private class MyArrayListSpliterator implements Spliterator<T> {
+
+        private int index; //the next index to report
+        private int fence; //one past the last index, -1 until first use
+        private int expectedModCount;
+
+        private MyArrayListSpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence() {
+            //bind to the list on first use, so changes made before then are allowed
+            if(fence < 0) {
+                compactNow();
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int high = getFence();
+            int low = index;
+            int mid = (low + high) >>> 1;
+
+            //hand off the lower half, keep the upper half
+            if(low >= mid) {
+                return null;
+            }
+            index = mid;
+            return new MyArrayListSpliterator(low, mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if(action == null) {
+                throw new NullPointerException("action cannot be null");
+            }
+
+            int high = getFence();
+            if(index < high) {
+                T item = structure[index];
+                index++;
+                action.accept(item);
+                checkForComodification();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if(action == null) {
+                throw new NullPointerException("action cannot be null");
+            }
+
+            //walk the array directly and only check for changes once at the end
+            T[] data = structure;
+            int high = getFence();
+            int low = index;
+            index = high;
+            for(int i = low; i < high && i < data.length; i++) {
+                action.accept(data[i]);
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+
+        private void checkForComodification() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Changes were made while splitting");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "MyArrayListSpliterator{" +
+                    "index=" + index +
+                    ", fence=" + fence +
+                    ", expectedModCount=" + expectedModCount +
+                    '}';
+        }
+    }
+
     private class MyArrayListIterator<T> implements ListIterator<T> , Iterator<T>{
 
         private T[] data;
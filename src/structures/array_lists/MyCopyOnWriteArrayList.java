@@ -0,0 +1,302 @@
+package structures.array_lists;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * This class is a thread-safe, copy-on-write array list for data that is read far more
+ * often than it is changed. Every write copies the array, changes the copy and then
+ * swaps a volatile reference, so readers never lock and every iterator walks an
+ * immutable snapshot of the list. Bulk writes (addAll, removeAll, retainAll, removeIf and
+ * subList(..).clear()) also make a single copy, so readers see all of a batch or none of it.
+ * @param <T> is the generic element to be stored
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class MyCopyOnWriteArrayList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final Object writeLock = new Object(); //writers take turns, readers never wait
+    private volatile Object[] structure;
+
+    /**
+     * MyCopyOnWriteArrayList Constructor
+     */
+    public MyCopyOnWriteArrayList() {
+        structure = new Object[0];
+    }
+
+    /**
+     * MyCopyOnWriteArrayList Constructor that starts with the elements of a collection
+     * @param collection the elements to start with
+     * @throws NullPointerException if the collection is null or holds a null element
+     */
+    public MyCopyOnWriteArrayList(Collection<? extends T> collection) {
+        Object[] elements = Arrays.copyOf(collection.toArray(), collection.size(), Object[].class);
+        for(Object item : elements) {
+            checkElement(item);
+        }
+        structure = elements;
+    }
+
+    @Override
+    public int size() {
+        return structure.length;
+    }
+
+    @Override
+    public T get(int index) {
+        return elementAt(structure, index);
+    }
+
+    @Override
+    public T set(int index, T element) {
+        checkElement(element);
+        synchronized(writeLock) {
+            Object[] current = structure;
+            T prevItem = elementAt(current, index);
+
+            Object[] copy = current.clone();
+            copy[index] = element;
+            structure = copy;
+            return prevItem;
+        }
+    }
+
+    @Override
+    public boolean add(T element) {
+        checkElement(element);
+        synchronized(writeLock) {
+            Object[] current = structure;
+            Object[] copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = element;
+            structure = copy;
+            return true;
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkElement(element);
+        synchronized(writeLock) {
+            Object[] current = structure;
+            if(index < 0 || index > current.length) {
+                throw new IndexOutOfBoundsException("index out of bounds: " + index);
+            }
+
+            //copy both halves around the new element in one pass each
+            Object[] copy = new Object[current.length + 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(current, index, copy, index + 1, current.length - index);
+            copy[index] = element;
+            structure = copy;
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        synchronized(writeLock) {
+            Object[] current = structure;
+            T item = elementAt(current, index);
+            structure = copyWithout(current, index);
+            return item;
+        }
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if(object == null) {
+            return false;
+        }
+        synchronized(writeLock) {
+            Object[] current = structure;
+            for(int i = 0; i < current.length; i++) {
+                if(current[i].equals(object)) {
+                    structure = copyWithout(current, i);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> collection) {
+        return addAll(size(), collection);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> collection) {
+        Object[] elements = collection.toArray();
+        for(Object item : elements) {
+            checkElement(item);
+        }
+        synchronized(writeLock) {
+            Object[] current = structure;
+            if(index < 0 || index > current.length) {
+                throw new IndexOutOfBoundsException("index out of bounds: " + index);
+            }
+            if(elements.length == 0) {
+                return false;
+            }
+
+            //one copy for the whole batch, with a gap left for the new elements
+            Object[] copy = new Object[current.length + elements.length];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(elements, 0, copy, index, elements.length);
+            System.arraycopy(current, index, copy, index + elements.length, current.length - index);
+            structure = copy;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection) {
+        if(collection == null) {
+            throw new NullPointerException("collection cannot be null");
+        }
+        return removeIf(collection::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection) {
+        if(collection == null) {
+            throw new NullPointerException("collection cannot be null");
+        }
+        return removeIf(item -> !collection.contains(item));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        if(filter == null) {
+            throw new NullPointerException("filter cannot be null");
+        }
+        synchronized(writeLock) {
+            Object[] current = structure;
+
+            //test each element once and remember the removals, then copy the survivors into an exact-size array
+            BitSet removals = new BitSet(current.length);
+            for(int i = 0; i < current.length; i++) {
+                if(filter.test((T) current[i])) {
+                    removals.set(i);
+                }
+            }
+            int removed = removals.cardinality();
+            if(removed == 0) {
+                return false;
+            }
+
+            Object[] copy = new Object[current.length - removed];
+            int count = 0;
+            for(int i = removals.nextClearBit(0); i < current.length; i = removals.nextClearBit(i + 1)) {
+                copy[count] = current[i];
+                count++;
+            }
+            structure = copy;
+            return true;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized(writeLock) {
+            structure = new Object[0];
+        }
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        //subList(from, to).clear() lands here, so it is one copy instead of one per element
+        synchronized(writeLock) {
+            Object[] current = structure;
+            if(fromIndex < 0 || toIndex > current.length || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("range out of bounds: " + fromIndex + " to " + toIndex);
+            }
+            Object[] copy = new Object[current.length - (toIndex - fromIndex)];
+            System.arraycopy(current, 0, copy, 0, fromIndex);
+            System.arraycopy(current, toIndex, copy, fromIndex, current.length - toIndex);
+            structure = copy;
+        }
+    }
+
+    /**
+     * Applies many changes with a single copy of the list. The changes are made to a private
+     * MyArrayList copy of the current elements, and the result is published all at once, so
+     * readers see either none of the changes or all of them.
+     * @param changes the changes to make to the copy
+     * @throws NullPointerException if changes is null
+     */
+    public void mutate(Consumer<MyArrayList<T>> changes) {
+        if(changes == null) {
+            throw new NullPointerException("changes cannot be null");
+        }
+        synchronized(writeLock) {
+            //seed the working list with one bulk copy, then take its array instead of copying it back out
+            Object[] current = structure;
+            MyArrayList<T> copy = new MyArrayList<>(current.length);
+            copy.addAll((T[]) current, 0, current.length);
+
+            changes.accept(copy);
+            structure = copy.takeArray();
+        }
+    }
+
+    /**
+     * @return an iterator over a snapshot of the list, which never sees later changes
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        return snapshot().listIterator(index);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(structure, Spliterator.IMMUTABLE | Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] current = structure;
+        return Arrays.copyOf(current, current.length);
+    }
+
+    private List<T> snapshot() {
+        //the published array is never written to again, so it can be shared read-only
+        return Collections.unmodifiableList(Arrays.asList((T[]) structure));
+    }
+
+    private static Object[] copyWithout(Object[] current, int index) {
+        Object[] copy = new Object[current.length - 1];
+        System.arraycopy(current, 0, copy, 0, index);
+        System.arraycopy(current, index + 1, copy, index, current.length - index - 1);
+        return copy;
+    }
+
+    private T elementAt(Object[] data, int index) {
+        if(index < 0) {
+            throw new IndexOutOfBoundsException("Index cannot be negative");
+        } else if(index >= data.length) {
+            throw new IndexOutOfBoundsException("Index is greater than the size of the list");
+        }
+        return (T) data[index];
+    }
+
+    private static void checkElement(Object element) {
+        if(element == null) {
+            throw new NullPointerException("Cannot add null values into the list");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MyCopyOnWriteArrayList { " +
+                "\n size = " + structure.length +
+                "\n structure = " + Arrays.toString(structure) +
+                "\n}";
+    }
+}
@@ -0,0 +1,344 @@
+package structures.array_lists;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * This class is an array list that keeps its elements outside of the java heap.
+ * Every element is written as a fixed-width record into direct memory through a
+ * record codec, so the garbage collector never sees the elements themselves.
+ * <p>
+ * The records live in pages of direct memory. The first page is reallocated as
+ * it grows, after that growth only allocates a new page, so existing records are
+ * never copied. Call close() to free the memory right away instead of waiting on
+ * the garbage collector.
+ * @param <T> is the generic element to be stored
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class OffHeapArrayList<T> extends AbstractList<T> implements RandomAccess, AutoCloseable {
+
+    private final IRecordCodec<T> codec;
+    private final int recordSize;
+    private final int pageShift;
+    private final int pageMask;
+
+    private ByteBuffer[] pages;
+    private int pageCount;
+    private int capacity;
+    private int size;
+    private boolean closed;
+
+    private static final int INITIAL_SIZE = 20;
+    private static final int MAX_PAGE_BYTES = 1 << 26; //64MB of records per page
+    private static final int COPY_CHUNK_BYTES = 8192; //most bytes buffered when a shift overlaps itself
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    static {
+        //look up Unsafe.invokeCleaner() once, so close() can free direct memory right away
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            java.lang.reflect.Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            //not available, the garbage collector will free the memory instead
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    /**
+     * OffHeapArrayList Constructor
+     * @param codec writes and reads the fixed-width records
+     */
+    public OffHeapArrayList(IRecordCodec<T> codec) {
+        this(codec, INITIAL_SIZE);
+    }
+
+    /**
+     * OffHeapArrayList Constructor that pre-sizes the direct memory.
+     * @param codec writes and reads the fixed-width records
+     * @param initialCapacity the number of records to make room for
+     * @throws IllegalArgumentException if initialCapacity is negative or the record size is not positive
+     * @throws NullPointerException if codec is null
+     */
+    public OffHeapArrayList(IRecordCodec<T> codec, int initialCapacity) {
+        if(codec == null) {
+            throw new NullPointerException("Codec cannot be null");
+        } else if(codec.recordSize() <= 0) {
+            throw new IllegalArgumentException("Record size must be positive: " + codec.recordSize());
+        } else if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        }
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+
+        //records per page is a power of two so an index splits into page + slot with shifts
+        int pageRecords = Integer.highestOneBit(Math.max(1, MAX_PAGE_BYTES / recordSize));
+        this.pageShift = Integer.numberOfTrailingZeros(pageRecords);
+        this.pageMask = pageRecords - 1;
+        this.pages = new ByteBuffer[4];
+        ensureCapacity(initialCapacity);
+    }
+
+    @Override
+    public int size() {
+        checkOpen();
+        return size;
+    }
+
+    @Override
+    public T get(int index) {
+        checkOpen();
+        checkIndex(index);
+        return codec.decode(pages[index >>> pageShift], (index & pageMask) * recordSize);
+    }
+
+    @Override
+    public T set(int index, T element) {
+        checkOpen();
+        checkIndex(index);
+        checkElement(element);
+
+        T prevItem = get(index);
+        write(index, element);
+        return prevItem;
+    }
+
+    @Override
+    public boolean add(T element) {
+        checkOpen();
+        checkElement(element);
+
+        ensureCapacity(size + 1);
+        write(size, element);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkOpen();
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index out of bounds: " + index);
+        }
+        checkElement(element);
+
+        //make room by shifting every record after the index up one slot
+        ensureCapacity(size + 1);
+        copyRecords(index, index + 1, size - index);
+        write(index, element);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        checkOpen();
+        checkIndex(index);
+
+        //shift every record after the index down one slot
+        T item = get(index);
+        copyRecords(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        return item;
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Makes sure there is direct memory for at least minCapacity records.
+     * @param minCapacity the number of records the list should be able to hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        checkOpen();
+        while(capacity < minCapacity) {
+            int pageRecords = pageMask + 1;
+            if(pageCount == 1 && capacity < pageRecords) {
+                //still growing the first page, so reallocate it at double size
+                int newCapacity = Math.min(pageRecords, Math.max(capacity * 2, minCapacity));
+                ByteBuffer page = ByteBuffer.allocateDirect(newCapacity * recordSize);
+                copyBytes(pages[0], 0, page, 0, size * recordSize);
+                free(pages[0]);
+                pages[0] = page;
+                capacity = newCapacity;
+            } else if(pageCount == 0) {
+                int newCapacity = Math.min(pageRecords, Math.max(minCapacity, 1));
+                pages[0] = ByteBuffer.allocateDirect(newCapacity * recordSize);
+                pageCount = 1;
+                capacity = newCapacity;
+            } else {
+                //every page is full sized, so just add another one
+                if(capacity > Integer.MAX_VALUE - pageRecords) {
+                    throw new OutOfMemoryError("Required capacity is too large: " + minCapacity);
+                }
+                if(pageCount == pages.length) {
+                    pages = Arrays.copyOf(pages, pageCount * 2);
+                }
+                pages[pageCount] = ByteBuffer.allocateDirect(pageRecords * recordSize);
+                pageCount++;
+                capacity += pageRecords;
+            }
+        }
+    }
+
+    /**
+     * @return the number of records there is direct memory for
+     */
+    public int capacity() {
+        checkOpen();
+        return capacity;
+    }
+
+    /**
+     * @return true if close() has been called
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Frees all of the direct memory held by the list. The list cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        if(closed) {
+            return;
+        }
+        for(int i = 0; i < pageCount; i++) {
+            free(pages[i]);
+            pages[i] = null;
+        }
+        pageCount = 0;
+        capacity = 0;
+        size = 0;
+        closed = true;
+    }
+
+    private void write(int index, T element) {
+        codec.encode(element, pages[index >>> pageShift], (index & pageMask) * recordSize);
+    }
+
+    private void copyRecords(int from, int to, int count) {
+        if(count <= 0 || from == to) {
+            return;
+        }
+
+        //copy in runs that stay inside one page on both sides
+        if(to < from) {
+            //moving down, so walk forwards
+            int copied = 0;
+            while(copied < count) {
+                int src = from + copied;
+                int dst = to + copied;
+                int run = Math.min(count - copied, runLength(src, dst));
+                copyRun(src, dst, run);
+                copied += run;
+            }
+        } else {
+            //moving up, so walk backwards so nothing is overwritten before it is copied
+            int remaining = count;
+            while(remaining > 0) {
+                int srcEnd = from + remaining;
+                int dstEnd = to + remaining;
+                int run = Math.min(remaining, Math.min(((srcEnd - 1) & pageMask) + 1, ((dstEnd - 1) & pageMask) + 1));
+                copyRun(srcEnd - run, dstEnd - run, run);
+                remaining -= run;
+            }
+        }
+    }
+
+    private int runLength(int src, int dst) {
+        int pageRecords = pageMask + 1;
+        return Math.min(pageRecords - (src & pageMask), pageRecords - (dst & pageMask));
+    }
+
+    private void copyRun(int src, int dst, int records) {
+        ByteBuffer source = pages[src >>> pageShift];
+        ByteBuffer destination = pages[dst >>> pageShift];
+        copyBytes(source, (src & pageMask) * recordSize, destination, (dst & pageMask) * recordSize, records * recordSize);
+    }
+
+    private static void copyBytes(ByteBuffer source, int sourceOffset, ByteBuffer destination, int destinationOffset, int length) {
+        //work on views of the pages, so the pages' own positions never move
+        ByteBuffer from = source.duplicate();
+        ByteBuffer to = destination.duplicate();
+        boolean overlaps = source == destination && sourceOffset < destinationOffset + length
+                && destinationOffset < sourceOffset + length;
+        if(!overlaps) {
+            from.limit(sourceOffset + length).position(sourceOffset);
+            to.position(destinationOffset);
+            to.put(from);
+            return;
+        }
+
+        //put(ByteBuffer) says nothing about overlapping regions, so go through a bounded
+        //temporary array, walking from the end that is read before it gets overwritten
+        byte[] chunk = new byte[Math.min(length, COPY_CHUNK_BYTES)];
+        boolean forwards = destinationOffset < sourceOffset;
+        int done = 0;
+        while(done < length) {
+            int count = Math.min(chunk.length, length - done);
+            int offset = forwards ? done : length - done - count;
+            from.position(sourceOffset + offset);
+            from.get(chunk, 0, count);
+            to.position(destinationOffset + offset);
+            to.put(chunk, 0, count);
+            done += count;
+        }
+    }
+
+    private static void free(ByteBuffer buffer) {
+        if(buffer == null || INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException exception) {
+            //leave it to the garbage collector
+        }
+    }
+
+    private void checkOpen() {
+        if(closed) {
+            throw new IllegalStateException("The list has been closed");
+        }
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0) {
+            throw new IndexOutOfBoundsException("Index cannot be negative");
+        } else if(index >= size) {
+            throw new IndexOutOfBoundsException("Index is greater than the size of the list");
+        }
+    }
+
+    private void checkElement(T element) {
+        if(element == null) {
+            throw new NullPointerException("Cannot add null values into the list");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapArrayList { " +
+                "\n size = " + size +
+                "\n capacity = " + capacity +
+                "\n recordSize = " + recordSize +
+                "\n closed = " + closed +
+                "\n}";
+    }
+}
@@ -0,0 +1,452 @@
+package structures.array_lists;
+
+import java.util.*;
+
+/**
+ * This class is a persistent (immutable) vector built as a 32-way trie, with the last
+ * (up to) 32 elements kept in a separate tail array. set(), append() and pop() never
+ * change a vector; they return a new version that shares every untouched node with
+ * the old one, so each new version only costs O(log32 n) new nodes.
+ * <p>
+ * For bulk loads use a Builder, which fills nodes in place while it owns them and
+ * hands back a normal persistent vector once it is done.
+ * @param <T> is the generic element to be stored
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public final class PersistentVector<T> implements Iterable<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift; //how far to shift an index to find its slot in the root
+    private final Node root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * @param <T> is the generic element to be stored
+     * @return the empty vector
+     */
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    /**
+     * @param <T> is the generic element to be stored
+     * @return a builder that starts out empty
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>(empty());
+    }
+
+    /**
+     * @return the number of elements in the vector
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no elements in the vector
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index the position of the element
+     * @return the element at the index
+     */
+    public T get(int index) {
+        checkIndex(index, size);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * @param index the position of the element to replace
+     * @param element the new element
+     * @return a new vector with the element replaced, this vector is unchanged
+     */
+    public PersistentVector<T> set(int index, T element) {
+        checkIndex(index, size);
+        checkElement(element);
+
+        if(index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, setInNode(shift, root, index, element), tail);
+    }
+
+    /**
+     * @param element the element to add to the end
+     * @return a new vector with the element on the end, this vector is unchanged
+     */
+    public PersistentVector<T> append(T element) {
+        checkElement(element);
+
+        //room left in the tail?
+        if(size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        //the full tail moves into the trie, adding a level if the root is full too
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    /**
+     * @return a new vector without the last element, this vector is unchanged
+     * @throws NoSuchElementException if the vector is empty
+     */
+    public PersistentVector<T> pop() {
+        if(size == 0) {
+            throw new NoSuchElementException("Cannot pop from an empty vector");
+        } else if(size == 1) {
+            return empty();
+        }
+
+        //more than one element in the tail, so just shorten it
+        if(size - tailOffset(size) > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+
+        //the tail is emptied, so the last leaf in the trie becomes the new tail
+        Object[] newTail = leafFor(size - 2);
+        Node newRoot = popTail(shift, root);
+        int newShift = shift;
+        if(newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if(shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * @return a builder that starts with the elements of this vector, which is left unchanged
+     */
+    public Builder<T> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    /**
+     * @return a new array holding every element in order
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for(int start = 0; start < size; start += WIDTH) {
+            Object[] leaf = leafFor(start);
+            System.arraycopy(leaf, 0, array, start, Math.min(WIDTH, size - start));
+        }
+        return array;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new PersistentVectorIterator();
+    }
+
+    private Object[] leafFor(int index) {
+        if(index >= tailOffset(size)) {
+            return tail;
+        }
+        Node node = root;
+        for(int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private static Node setInNode(int level, Node node, int index, Object element) {
+        //copy only the nodes on the path down to the element
+        Node copy = new Node(null, node.array.clone());
+        if(level == 0) {
+            copy.array[index & MASK] = element;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy.array[slot] = setInNode(level - BITS, (Node) node.array[slot], index, element);
+        }
+        return copy;
+    }
+
+    private static Node pushTail(int size, int level, Node parent, Node tailNode) {
+        int slot = ((size - 1) >>> level) & MASK;
+        Node copy = new Node(null, parent.array.clone());
+        Node toInsert;
+        if(level == BITS) {
+            toInsert = tailNode;
+        } else {
+            Node child = (Node) parent.array[slot];
+            toInsert = (child != null) ? pushTail(size, level - BITS, child, tailNode) : newPath(null, level - BITS, tailNode);
+        }
+        copy.array[slot] = toInsert;
+        return copy;
+    }
+
+    private Node popTail(int level, Node node) {
+        int slot = ((size - 2) >>> level) & MASK;
+        if(level > BITS) {
+            Node newChild = popTail(level - BITS, (Node) node.array[slot]);
+            if(newChild == null && slot == 0) {
+                return null;
+            }
+            Node copy = new Node(null, node.array.clone());
+            copy.array[slot] = newChild;
+            return copy;
+        } else if(slot == 0) {
+            return null;
+        }
+        Node copy = new Node(null, node.array.clone());
+        copy.array[slot] = null;
+        return copy;
+    }
+
+    private static Node newPath(Object edit, int level, Node node) {
+        //a chain of single child nodes down to the leaf
+        if(level == 0) {
+            return node;
+        }
+        Node path = new Node(edit, new Object[WIDTH]);
+        path.array[0] = newPath(edit, level - BITS, node);
+        return path;
+    }
+
+    private static int tailOffset(int size) {
+        if(size < WIDTH) {
+            return 0;
+        }
+        return ((size - 1) >>> BITS) << BITS;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if(index < 0) {
+            throw new IndexOutOfBoundsException("Index cannot be negative");
+        } else if(index >= size) {
+            throw new IndexOutOfBoundsException("Index is greater than the size of the vector");
+        }
+    }
+
+    private static void checkElement(Object element) {
+        if(element == null) {
+            throw new NullPointerException("Cannot add null values into the vector");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentVector{" +
+                "size=" + size +
+                ", elements=" + Arrays.toString(toArray()) +
+                '}';
+    }
+
+    /**
+     * A builder (transient vector) for fast bulk loads. It writes into the nodes it created
+     * itself instead of copying them, and build() turns the result into a persistent
+     * vector. A builder cannot be used again after build().
+     * @param <T> is the generic element to be stored
+     */
+    public static final class Builder<T> {
+
+        private Object owner; //marks the nodes this builder may write to, null after build()
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+
+        private Builder(PersistentVector<T> vector) {
+            this.owner = new Object();
+            this.size = vector.size;
+            this.shift = vector.shift;
+            this.root = new Node(owner, vector.root.array.clone());
+            this.tail = Arrays.copyOf(vector.tail, WIDTH);
+        }
+
+        /**
+         * @param element the element to add to the end
+         * @return this builder
+         */
+        public Builder<T> add(T element) {
+            ensureOwned();
+            checkElement(element);
+
+            if(size - tailOffset(size) < WIDTH) {
+                tail[size & MASK] = element;
+                size++;
+                return this;
+            }
+            pushFullTail();
+            tail[0] = element;
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds a range of an array, copying up to 32 elements at a time into the tail
+         * @param elements the array to copy from
+         * @param offset where to start in the array
+         * @param length how many elements to copy
+         * @return this builder
+         */
+        public Builder<T> addAll(T[] elements, int offset, int length) {
+            ensureOwned();
+            if(offset < 0 || length < 0 || offset > elements.length - length) {
+                throw new IndexOutOfBoundsException("range out of bounds: " + offset + ", " + length);
+            }
+            for(int i = offset; i < offset + length; i++) {
+                checkElement(elements[i]);
+            }
+
+            int copied = 0;
+            while(copied < length) {
+                int inTail = size - tailOffset(size);
+                if(inTail == WIDTH) {
+                    pushFullTail();
+                    inTail = 0;
+                }
+                int run = Math.min(WIDTH - inTail, length - copied);
+                System.arraycopy(elements, offset + copied, tail, inTail, run);
+                copied += run;
+                size += run;
+            }
+            return this;
+        }
+
+        /**
+         * @param elements the elements to add to the end, in iteration order
+         * @return this builder
+         */
+        public Builder<T> addAll(Iterable<? extends T> elements) {
+            for(T element : elements) {
+                add(element);
+            }
+            return this;
+        }
+
+        /**
+         * @return the number of elements added so far
+         */
+        public int size() {
+            ensureOwned();
+            return size;
+        }
+
+        /**
+         * Finishes the builder and returns the vector it built
+         * @return a persistent vector holding every element added
+         */
+        public PersistentVector<T> build() {
+            ensureOwned();
+            owner = null; //nothing may write to these nodes from now on
+            Object[] trimmedTail = Arrays.copyOf(tail, size - tailOffset(size));
+            return new PersistentVector<>(size, shift, root, trimmedTail);
+        }
+
+        private void pushFullTail() {
+            //the full tail becomes a leaf, adding a level if the root is full too
+            Node tailNode = new Node(owner, tail);
+            tail = new Object[WIDTH];
+            if((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(owner, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(owner, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTailInPlace(shift, root, tailNode);
+            }
+        }
+
+        private Node pushTailInPlace(int level, Node parent, Node tailNode) {
+            Node node = owned(parent);
+            int slot = ((size - 1) >>> level) & MASK;
+            if(level == BITS) {
+                node.array[slot] = tailNode;
+            } else {
+                Node child = (Node) node.array[slot];
+                node.array[slot] = (child != null) ? pushTailInPlace(level - BITS, child, tailNode)
+                        : newPath(owner, level - BITS, tailNode);
+            }
+            return node;
+        }
+
+        private Node owned(Node node) {
+            //write in place if this builder made the node, otherwise copy it once
+            if(node.edit == owner) {
+                return node;
+            }
+            return new Node(owner, node.array.clone());
+        }
+
+        private void ensureOwned() {
+            if(owner == null) {
+                throw new IllegalStateException("The builder has already been built");
+            }
+        }
+    }
+
+    private class PersistentVectorIterator implements Iterator<T> {
+
+        private int index;
+        private Object[] leaf;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public T next() {
+            if(index >= size) {
+                throw new NoSuchElementException("No more elements in the vector");
+            }
+
+            //look up the leaf once every 32 elements
+            if((index & MASK) == 0 || leaf == null) {
+                leaf = leafFor(index);
+            }
+            T item = (T) leaf[index & MASK];
+            index++;
+            return item;
+        }
+    }
+
+    //trie node, edit is the builder that may write to it (null once it is shared)
+    private static final class Node {
+        private final Object edit;
+        private final Object[] array;
+
+        private Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package structures.array_lists;
+
+/**
+ * This class holds the search and aggregation loops shared by the primitive array lists.
+ * <p>
+ * The searches check a block of LANES values with non-short-circuit operators, so there is
+ * one branch per block instead of one per value. The counts use the same operators, and the
+ * sums keep several independent accumulators so each add does not wait on the one before.
+ * These only cut branches and dependency chains for the CPU. Whether the JIT compiler also
+ * turns any of them into SIMD instructions depends on the JVM and has not been measured.
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+final class PrimitiveScans {
+
+    private static final int LANES = 8;
+
+    private PrimitiveScans() {
+    }
+
+    static int indexOf(int[] data, int size, int value) {
+        int i = 0;
+        int blocks = size - (size % LANES);
+        for(; i < blocks; i += LANES) {
+            //check the whole block at once, and only look closer when something matched
+            if(data[i] == value | data[i + 1] == value | data[i + 2] == value | data[i + 3] == value
+                    | data[i + 4] == value | data[i + 5] == value | data[i + 6] == value | data[i + 7] == value) {
+                break;
+            }
+        }
+        for(; i < size; i++) {
+            if(data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int count(int[] data, int size, int value) {
+        int count = 0;
+        for(int i = 0; i < size; i++) {
+            count += data[i] == value ? 1 : 0;
+        }
+        return count;
+    }
+
+    static int countBetween(int[] data, int size, int low, int high) {
+        int count = 0;
+        for(int i = 0; i < size; i++) {
+            int item = data[i];
+            count += (item >= low & item <= high) ? 1 : 0;
+        }
+        return count;
+    }
+
+    static long sum(int[] data, int size) {
+        long sum0 = 0;
+        long sum1 = 0;
+        long sum2 = 0;
+        long sum3 = 0;
+        int i = 0;
+        for(; i + 3 < size; i += 4) {
+            sum0 += data[i];
+            sum1 += data[i + 1];
+            sum2 += data[i + 2];
+            sum3 += data[i + 3];
+        }
+        for(; i < size; i++) {
+            sum0 += data[i];
+        }
+        return sum0 + sum1 + sum2 + sum3;
+    }
+
+    static int min(int[] data, int size) {
+        int min = data[0];
+        for(int i = 1; i < size; i++) {
+            min = Math.min(min, data[i]);
+        }
+        return min;
+    }
+
+    static int max(int[] data, int size) {
+        int max = data[0];
+        for(int i = 1; i < size; i++) {
+            max = Math.max(max, data[i]);
+        }
+        return max;
+    }
+
+    static int indexOf(long[] data, int size, long value) {
+        int i = 0;
+        int blocks = size - (size % LANES);
+        for(; i < blocks; i += LANES) {
+            if(data[i] == value | data[i + 1] == value | data[i + 2] == value | data[i + 3] == value
+                    | data[i + 4] == value | data[i + 5] == value | data[i + 6] == value | data[i + 7] == value) {
+                break;
+            }
+        }
+        for(; i < size; i++) {
+            if(data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int count(long[] data, int size, long value) {
+        int count = 0;
+        for(int i = 0; i < size; i++) {
+            count += data[i] == value ? 1 : 0;
+        }
+        return count;
+    }
+
+    static int countBetween(long[] data, int size, long low, long high) {
+        int count = 0;
+        for(int i = 0; i < size; i++) {
+            long item = data[i];
+            count += (item >= low & item <= high) ? 1 : 0;
+        }
+        return count;
+    }
+
+    static long sum(long[] data, int size) {
+        long sum0 = 0;
+        long sum1 = 0;
+        long sum2 = 0;
+        long sum3 = 0;
+        int i = 0;
+        for(; i + 3 < size; i += 4) {
+            sum0 += data[i];
+            sum1 += data[i + 1];
+            sum2 += data[i + 2];
+            sum3 += data[i + 3];
+        }
+        for(; i < size; i++) {
+            sum0 += data[i];
+        }
+        return sum0 + sum1 + sum2 + sum3;
+    }
+
+    static long min(long[] data, int size) {
+        long min = data[0];
+        for(int i = 1; i < size; i++) {
+            min = Math.min(min, data[i]);
+        }
+        return min;
+    }
+
+    static long max(long[] data, int size) {
+        long max = data[0];
+        for(int i = 1; i < size; i++) {
+            max = Math.max(max, data[i]);
+        }
+        return max;
+    }
+
+    static int indexOf(double[] data, int size, double value) {
+        //compare bit patterns, so NaN is found and 0.0 / -0.0 differ, just like Double.equals()
+        long bits = Double.doubleToLongBits(value);
+        int i = 0;
+        if(!Double.isNaN(value)) {
+            //a plain == never matches a different bit pattern of a non-NaN value,
+            //apart from 0.0 == -0.0, which the closer look below sorts out
+            int blocks = size - (size % LANES);
+            for(; i < blocks; i += LANES) {
+                if(data[i] == value | data[i + 1] == value | data[i + 2] == value | data[i + 3] == value
+                        | data[i + 4] == value | data[i + 5] == value | data[i + 6] == value | data[i + 7] == value) {
+                    if(anyEqual(data, i, bits)) {
+                        break;
+                    }
+                }
+            }
+        }
+        for(; i < size; i++) {
+            if(Double.doubleToLongBits(data[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean anyEqual(double[] data, int from, long bits) {
+        for(int i = from; i < from + LANES; i++) {
+            if(Double.doubleToLongBits(data[i]) == bits) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int count(double[] data, int size, double value) {
+        long bits = Double.doubleToLongBits(value);
+        int count = 0;
+        for(int i = 0; i < size; i++) {
+            count += Double.doubleToLongBits(data[i]) == bits ? 1 : 0;
+        }
+        return count;
+    }
+
+    static int countBetween(double[] data, int size, double low, double high) {
+        int count = 0;
+        for(int i = 0; i < size; i++) {
+            double item = data[i];
+            count += (item >= low & item <= high) ? 1 : 0;
+        }
+        return count;
+    }
+
+    static double sum(double[] data, int size) {
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+        int i = 0;
+        for(; i + 3 < size; i += 4) {
+            sum0 += data[i];
+            sum1 += data[i + 1];
+            sum2 += data[i + 2];
+            sum3 += data[i + 3];
+        }
+        for(; i < size; i++) {
+            sum0 += data[i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    static double min(double[] data, int size) {
+        double min = data[0];
+        for(int i = 1; i < size; i++) {
+            min = Math.min(min, data[i]);
+        }
+        return min;
+    }
+
+    static double max(double[] data, int size) {
+        double max = data[0];
+        for(int i = 1; i < size; i++) {
+            max = Math.max(max, data[i]);
+        }
+        return max;
+    }
+}
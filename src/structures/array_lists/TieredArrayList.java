@@ -0,0 +1,267 @@
+package structures.array_lists;
+
+import java.util.*;
+
+/**
+ * This class is a tiered vector: an array list made of equal sized blocks, where each
+ * block is a small circular buffer. Every block is full except for the last one, so
+ * get() and set() find an element in O(1) with a shift and a mask.
+ * <p>
+ * Inserting or removing in the middle only shifts elements inside one block, and then
+ * moves a single element across each block after it, using the circular buffers to
+ * push and pop at either end in O(1). With blocks of about sqrt(n) elements, that makes
+ * add(index, element) and remove(index) O(sqrt n) instead of O(n).
+ * @param <T> is the generic element to be stored
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class TieredArrayList<T> extends AbstractList<T> implements RandomAccess {
+
+    private int size;
+    private int blockShift;
+    private int blockMask;
+    private Object[][] blocks;
+    private int[] heads; //where each block's first element sits in its circular buffer
+    private int[] counts; //how many elements each block holds
+    private int blockCount;
+
+    private static final int MIN_BLOCK_BITS = 4; //16 elements per block to start with
+
+    /**
+     * TieredArrayList Constructor
+     */
+    public TieredArrayList() {
+        layout(MIN_BLOCK_BITS, 4);
+    }
+
+    /**
+     * TieredArrayList Constructor that starts with the elements of a collection
+     * @param collection the elements to start with
+     * @throws NullPointerException if the collection is null or holds a null element
+     */
+    public TieredArrayList(Collection<? extends T> collection) {
+        this();
+        addAll(collection);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        int block = index >>> blockShift;
+        return (T) blocks[block][(heads[block] + (index & blockMask)) & blockMask];
+    }
+
+    @Override
+    public T set(int index, T element) {
+        checkIndex(index);
+        checkElement(element);
+
+        int block = index >>> blockShift;
+        int slot = (heads[block] + (index & blockMask)) & blockMask;
+        T prevItem = (T) blocks[block][slot];
+        blocks[block][slot] = element;
+        return prevItem;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index out of bounds: " + index);
+        }
+        checkElement(element);
+
+        //open up a new block at the end when every block is full
+        if(size == blockCount << blockShift) {
+            if(blockCount > 2 << blockShift) {
+                rebuild(blockShift + 1); //blocks are too small for this many elements
+            }
+            if(size == blockCount << blockShift) {
+                addBlock();
+            }
+        }
+
+        //carry one element from the back of each block to the front of the next,
+        //starting at the end, so the target block ends up with a free slot
+        int target = index >>> blockShift;
+        int last = blockCount - 1;
+        for(int block = last; block > target; block--) {
+            pushFront(block, popBack(block - 1));
+        }
+        insertAt(target, index & blockMask, element);
+
+        size++;
+        modCount++; //record the change
+    }
+
+    @Override
+    public T remove(int index) {
+        checkIndex(index);
+
+        //remove from the target block, then pull one element back from each block after it
+        int target = index >>> blockShift;
+        T item = removeAt(target, index & blockMask);
+        for(int block = target + 1; block < blockCount; block++) {
+            pushBack(block - 1, popFront(block));
+        }
+
+        //drop the last block once it is empty
+        if(counts[blockCount - 1] == 0) {
+            blockCount--;
+            blocks[blockCount] = null;
+        }
+
+        size--;
+        modCount++; //record the change
+
+        //blocks are too big for this few elements
+        if(blockShift > MIN_BLOCK_BITS && blockCount < (1 << blockShift) >>> 2) {
+            rebuild(blockShift - 1);
+        }
+        return item;
+    }
+
+    @Override
+    public void clear() {
+        layout(MIN_BLOCK_BITS, 4);
+        size = 0;
+        modCount++; //record the change
+    }
+
+    private void insertAt(int block, int offset, T element) {
+        Object[] data = blocks[block];
+        int head = heads[block];
+        int count = counts[block];
+
+        if(offset < count >>> 1) {
+            //closer to the front, so slide the front part one slot to the left
+            head = (head - 1) & blockMask;
+            for(int i = 0; i < offset; i++) {
+                data[(head + i) & blockMask] = data[(head + i + 1) & blockMask];
+            }
+            heads[block] = head;
+        } else {
+            //closer to the back, so slide the back part one slot to the right
+            for(int i = count; i > offset; i--) {
+                data[(head + i) & blockMask] = data[(head + i - 1) & blockMask];
+            }
+        }
+        data[(head + offset) & blockMask] = element;
+        counts[block] = count + 1;
+    }
+
+    private T removeAt(int block, int offset) {
+        Object[] data = blocks[block];
+        int head = heads[block];
+        int count = counts[block];
+        T item = (T) data[(head + offset) & blockMask];
+
+        if(offset < count >>> 1) {
+            //closer to the front, so slide the front part one slot to the right
+            for(int i = offset; i > 0; i--) {
+                data[(head + i) & blockMask] = data[(head + i - 1) & blockMask];
+            }
+            data[head] = null;
+            heads[block] = (head + 1) & blockMask;
+        } else {
+            //closer to the back, so slide the back part one slot to the left
+            for(int i = offset; i < count - 1; i++) {
+                data[(head + i) & blockMask] = data[(head + i + 1) & blockMask];
+            }
+            data[(head + count - 1) & blockMask] = null;
+        }
+        counts[block] = count - 1;
+        return item;
+    }
+
+    private Object popBack(int block) {
+        int slot = (heads[block] + counts[block] - 1) & blockMask;
+        Object item = blocks[block][slot];
+        blocks[block][slot] = null;
+        counts[block]--;
+        return item;
+    }
+
+    private Object popFront(int block) {
+        int slot = heads[block];
+        Object item = blocks[block][slot];
+        blocks[block][slot] = null;
+        heads[block] = (slot + 1) & blockMask;
+        counts[block]--;
+        return item;
+    }
+
+    private void pushFront(int block, Object item) {
+        int slot = (heads[block] - 1) & blockMask;
+        blocks[block][slot] = item;
+        heads[block] = slot;
+        counts[block]++;
+    }
+
+    private void pushBack(int block, Object item) {
+        blocks[block][(heads[block] + counts[block]) & blockMask] = item;
+        counts[block]++;
+    }
+
+    private void addBlock() {
+        if(blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            heads = Arrays.copyOf(heads, blockCount * 2);
+            counts = Arrays.copyOf(counts, blockCount * 2);
+        }
+        blocks[blockCount] = new Object[blockMask + 1];
+        heads[blockCount] = 0;
+        counts[blockCount] = 0;
+        blockCount++;
+    }
+
+    private void rebuild(int newBlockShift) {
+        //lay every element out again with a new block size, O(n) but rare
+        Object[] elements = toArray();
+        int newBlockSize = 1 << newBlockShift;
+        layout(newBlockShift, Math.max(4, (elements.length >>> newBlockShift) + 2));
+
+        for(int start = 0; start < elements.length; start += newBlockSize) {
+            addBlock();
+            int length = Math.min(newBlockSize, elements.length - start);
+            System.arraycopy(elements, start, blocks[blockCount - 1], 0, length);
+            counts[blockCount - 1] = length;
+        }
+    }
+
+    private void layout(int newBlockShift, int blockSlots) {
+        blockShift = newBlockShift;
+        blockMask = (1 << newBlockShift) - 1;
+        blocks = new Object[blockSlots][];
+        heads = new int[blockSlots];
+        counts = new int[blockSlots];
+        blockCount = 0;
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0) {
+            throw new IndexOutOfBoundsException("Index cannot be negative");
+        } else if(index >= size) {
+            throw new IndexOutOfBoundsException("Index is greater than the size of the list");
+        }
+    }
+
+    private static void checkElement(Object element) {
+        if(element == null) {
+            throw new NullPointerException("Cannot add null values into the list");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TieredArrayList { " +
+                "\n size = " + size +
+                "\n blockSize = " + (blockMask + 1) +
+                "\n blocks = " + blockCount +
+                "\n}";
+    }
+}
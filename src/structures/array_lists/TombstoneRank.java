@@ -0,0 +1,92 @@
+package structures.array_lists;
+
+import java.util.Arrays;
+
+/**
+ * This class keeps track of deleted (tombstoned) slots in an array. Tombstones are kept in
+ * a bitmap, one bit per slot, and a Fenwick tree counts the tombstones in each 64-slot word
+ * of the bitmap. Together they turn "the i-th live element" into a slot index in O(log n),
+ * so a list can find elements without compacting after every removal.
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+class TombstoneRank {
+
+    private long[] bits = new long[0];
+    private int[] tree = new int[1]; //1-based Fenwick tree of tombstones per word
+    private int words;
+    private int dead;
+
+    /**
+     * Forgets every tombstone and makes room for an array of the given length
+     * @param capacity the length of the array being tracked
+     */
+    void reset(int capacity) {
+        int neededWords = (capacity + 63) >>> 6;
+        if(neededWords > bits.length) {
+            bits = new long[neededWords];
+            tree = new int[neededWords + 1];
+        } else {
+            Arrays.fill(bits, 0, words, 0L);
+            Arrays.fill(tree, 0, words + 1, 0);
+        }
+        words = neededWords;
+        dead = 0;
+    }
+
+    /**
+     * Marks a slot as deleted
+     * @param slot the slot in the array
+     */
+    void mark(int slot) {
+        int word = slot >>> 6;
+        bits[word] |= 1L << slot;
+        for(int node = word + 1; node <= words; node += node & -node) {
+            tree[node]++;
+        }
+        dead++;
+    }
+
+    /**
+     * @return how many slots are marked as deleted
+     */
+    int dead() {
+        return dead;
+    }
+
+    /**
+     * Finds the slot of the i-th live element, skipping every tombstone before it
+     * @param rank which live element to find, starting at 0
+     * @return the slot in the array that holds it
+     */
+    int select(int rank) {
+        //walk down the Fenwick tree, skipping whole runs of words with too few live slots
+        int word = 0;
+        int remaining = rank;
+        for(int step = Integer.highestOneBit(words); step > 0; step >>>= 1) {
+            int next = word + step;
+            if(next <= words) {
+                int live = (step << 6) - tree[next];
+                if(live <= remaining) {
+                    word = next;
+                    remaining -= live;
+                }
+            }
+        }
+
+        //then find the remaining-th live bit inside that word
+        long live = ~bits[word];
+        for(int i = 0; i < remaining; i++) {
+            live &= live - 1;
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(live);
+    }
+
+    @Override
+    public String toString() {
+        return "TombstoneRank{" +
+                "words=" + words +
+                ", dead=" + dead +
+                '}';
+    }
+}
@@ -3,7 +3,10 @@ package structures.trees;
 import java.util.*;
 
 /**
- * This is my BinarySearchTree
+ * This is my BinarySearchTree. By default it is a plain binary search tree, but it can also
+ * be made as an AVL tree, which rotates nodes on the way back up from every add and remove
+ * so the heights of any node's two subtrees never differ by more than one. That keeps the
+ * height O(log n) no matter what order the elements arrive in.
  * @author Chauncey Brown-Castro
  * @version 1.0
  */
@@ -12,6 +15,136 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
     //fields
     private Node root;
     private int size;
+    private final boolean balanced;
+    private Node[] path = newPath(32); //reused by add() and remove()
+
+    /**
+     * BinarySearchTree Constructor for a plain, unbalanced tree
+     */
+    public BinarySearchTree() {
+        this(false);
+    }
+
+    /**
+     * BinarySearchTree Constructor
+     * @param balanced true to keep the tree balanced as an AVL tree
+     */
+    public BinarySearchTree(boolean balanced) {
+        this.balanced = balanced;
+    }
+
+    /**
+     * Builds a balanced tree from elements that are already sorted, in O(n). The middle
+     * element becomes the root, and each half is built the same way, so the tree comes
+     * out perfectly balanced without a single comparison-driven insert.
+     * @param sorted the elements in increasing order, repeats next to each other are dropped
+     * @param <T> is the generic element to be stored
+     * @return a new balanced tree holding the elements
+     * @throws IllegalArgumentException if the elements are not in increasing order
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(T[] sorted) {
+        return fromSorted(Arrays.asList(sorted).iterator());
+    }
+
+    /**
+     * Builds a balanced tree from a sorted list, in O(n)
+     * @param sorted the elements in increasing order, repeats next to each other are dropped
+     * @param <T> is the generic element to be stored
+     * @return a new balanced tree holding the elements
+     * @throws IllegalArgumentException if the elements are not in increasing order
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(List<T> sorted) {
+        return fromSorted(sorted.iterator());
+    }
+
+    /**
+     * Builds a balanced tree from a sorted iterator, in O(n)
+     * @param sorted the elements in increasing order, repeats next to each other are dropped
+     * @param <T> is the generic element to be stored
+     * @return a new balanced tree holding the elements
+     * @throws IllegalArgumentException if the elements are not in increasing order
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(Iterator<T> sorted) {
+        //one pass to check the order and drop repeats
+        List<T> distinct = new ArrayList<>();
+        T previous = null;
+        while(sorted.hasNext()) {
+            T element = sorted.next();
+            if(element == null) {
+                throw new NullPointerException("Cannot add null values into the tree");
+            }
+            if(previous != null) {
+                int compare = previous.compareTo(element);
+                if(compare > 0) {
+                    throw new IllegalArgumentException("Elements are not sorted: " + element + " after " + previous);
+                } else if(compare == 0) {
+                    continue;
+                }
+            }
+            distinct.add(element);
+            previous = element;
+        }
+        return build(distinct.toArray());
+    }
+
+    /**
+     * Builds a balanced tree from elements in any order, by sorting them, dropping the
+     * repeats and building from the sorted array in O(n).
+     * @param elements the elements to add
+     * @param parallel true to sort with a parallel merge sort across all cores
+     * @param <T> is the generic element to be stored
+     * @return a new balanced tree holding the distinct elements
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromUnsorted(Collection<T> elements, boolean parallel) {
+        Object[] items = elements.toArray();
+        for(Object item : items) {
+            if(item == null) {
+                throw new NullPointerException("Cannot add null values into the tree");
+            }
+        }
+        if(parallel) {
+            Arrays.parallelSort(items, (a, b) -> ((T) a).compareTo((T) b));
+        } else {
+            Arrays.sort(items);
+        }
+
+        //squeeze out the repeats, which are next to each other now
+        int distinct = 0;
+        for(Object item : items) {
+            if(distinct == 0 || ((T) items[distinct - 1]).compareTo((T) item) != 0) {
+                items[distinct] = item;
+                distinct++;
+            }
+        }
+        return build(Arrays.copyOf(items, distinct));
+    }
+
+    private static <T extends Comparable<T>> BinarySearchTree<T> build(Object[] sorted) {
+        BinarySearchTree<T> tree = new BinarySearchTree<>(true);
+        tree.root = tree.build(sorted, 0, sorted.length - 1);
+        tree.size = sorted.length;
+        return tree;
+    }
+
+    private Node build(Object[] sorted, int low, int high) {
+        //the recursion is only log n deep, since each half is half the size
+        if(low > high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        Node current = new Node((T) sorted[mid]);
+        current.left = build(sorted, low, mid - 1);
+        current.right = build(sorted, mid + 1, high);
+        update(current);
+        return current;
+    }
+
+    /**
+     * @return true if the tree keeps itself balanced
+     */
+    public boolean isBalanced() {
+        return balanced;
+    }
 
     /**
      * This method adds an element into the binary tree
@@ -22,28 +155,40 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
         if(root == null) {
             root = new Node(element);
             size++;
-        } else {
-            //recursively find the position of our new element
-            root = add(element, root);
+            return;
         }
-    }
 
-    private Node add(T element, Node current) {
-        //if we have a null current node, then we found an open spot
-        if(current == null) {
-            size++;
-            return new Node(element);
-        }
+        //walk down to an open spot, remembering the path for the way back up
+        int depth = 0;
+        Node current = root;
+        while(true) {
+            push(depth, current);
+            depth++;
 
-        //are we looking to the left and right
-        int compare = current.data.compareTo(element);
+            int compare = current.data.compareTo(element);
+            if(compare == 0) {
+                return; //already in the tree
+            }
 
-        if(compare < 0) { //current is smaller
-            current.right = add(element, current.right);
-        } else if (compare > 0) { //current is bigger
-            current.left = add(element, current.left);
+            Node next = (compare < 0) ? current.right : current.left;
+            if(next == null) {
+                //we found an open spot
+                if(compare < 0) { //current is smaller
+                    current.right = new Node(element);
+                } else { //current is bigger
+                    current.left = new Node(element);
+                }
+                size++;
+                break;
+            }
+            current = next;
         }
-        return current;
+
+        //every node on the path has one more element under it
+        for(int i = 0; i < depth; i++) {
+            path[i].count++;
+        }
+        retrace(depth - 1);
     }
 
     /**
@@ -52,24 +197,19 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
      * @return true || false if found or not
      */
     public boolean contains(T element) {
-        return contains(element, root);
-    }
+        Node current = root;
+        while(current != null) {
+            int compare = current.data.compareTo(element);
 
-    private boolean contains(T element, Node current) {
-        //base case?
-        if(current == null) {
-            return false; //we never found the element
-        }
-
-        int compare = current.data.compareTo(element);
-
-        if(compare < 0) { //the current is smaller
-            return contains(element, current.right);
-        } else if(compare > 0) { //the current is larger
-            return contains(element, current.left);
-        } else { //the current is equal
-            return true; //element found
+            if(compare < 0) { //the current is smaller
+                current = current.right;
+            } else if(compare > 0) { //the current is larger
+                current = current.left;
+            } else { //the current is equal
+                return true; //element found
+            }
         }
+        return false; //we never found the element
     }
 
     /**
@@ -78,54 +218,410 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
      * @return returns true if the element is found and removed, otherwise returns false
      */
     public boolean remove(T element) {
-        root = remove(element, root);
-        return root != null;
-    }
+        //walk down to the element, remembering the path
+        int depth = 0;
+        Node current = root;
+        while(current != null) {
+            push(depth, current);
+            depth++;
 
-    private Node remove(T element, Node current) {
-        //base case?
+            int compare = current.data.compareTo(element);
+            if(compare == 0) {
+                break;
+            }
+            current = (compare < 0) ? current.right : current.left;
+        }
         if(current == null) {
-            return null; // element was not found
+            return false; // element was not found
+        }
+
+        //check for two children
+        if(current.left != null && current.right != null) {
+            //replace the data at our current node with the largest element in the left subtree,
+            //then remove that node instead, since it has at most one child
+            Node maxLeft = current.left;
+            push(depth, maxLeft);
+            depth++;
+            while(maxLeft.right != null) {
+                maxLeft = maxLeft.right;
+                push(depth, maxLeft);
+                depth++;
+            }
+            current.data = maxLeft.data;
+            current = maxLeft;
         }
 
-        int compare = current.data.compareTo(element);
+        //splice the node out, its only child (if any) takes its place
+        Node child = (current.left != null) ? current.left : current.right;
+        replaceChild(depth - 2, current, child);
+        size--;
+        for(int i = 0; i < depth - 1; i++) {
+            path[i].count--;
+        }
+
+        retrace(depth - 2);
+        return true;
+    }
+
+    private void retrace(int deepest) {
+        if(!balanced) {
+            return;
+        }
+
+        //go back up the path, rebalancing each node until nothing changes
+        for(int i = deepest; i >= 0; i--) {
+            Node current = path[i];
+            int oldHeight = current.height;
+            Node newCurrent = rebalance(current);
+            if(newCurrent != current) {
+                replaceChild(i - 1, current, newCurrent);
+            } else if(current.height == oldHeight) {
+                break; //the heights above this node cannot change either
+            }
+        }
+    }
 
-        if(compare < 0) { //current is smaller
-            current.right = remove(element, current.right);
-        } else if(compare > 0) { //current is larger
-            current.left = remove(element, current.left);
+    private void replaceChild(int parentDepth, Node oldChild, Node newChild) {
+        if(parentDepth < 0) {
+            root = newChild;
+        } else if(path[parentDepth].left == oldChild) {
+            path[parentDepth].left = newChild;
         } else {
-            //current is equal
+            path[parentDepth].right = newChild;
+        }
+    }
 
-            //check for two children
-            if(current.left != null && current.right != null) {
-                //replace the data at our current node
-                Node maxLeft = findMax(current.left);
-                current.data = maxLeft.data;
+    private void push(int depth, Node current) {
+        //the path is reused between calls and only grows for taller trees
+        if(depth == path.length) {
+            Node[] longer = newPath(path.length * 2);
+            System.arraycopy(path, 0, longer, 0, path.length);
+            path = longer;
+        }
+        path[depth] = current;
+    }
 
-                //recursively remove the largest element in the left subtree
-                current.left = remove(maxLeft.data, current.left);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node[] newPath(int length) {
+        //Node is an inner class of a generic class, so the array can only be made raw
+        return (Node[]) new BinarySearchTree.Node[length];
+    }
 
-            } else if(current.left != null) { //one child
+    private Node rebalance(Node current) {
+        if(current == null || !balanced) {
+            return current;
+        }
+        update(current);
+
+        //rotate when one side is two levels taller than the other
+        int balance = height(current.left) - height(current.right);
+        if(balance > 1) {
+            if(height(current.left.left) < height(current.left.right)) {
+                current.left = rotateLeft(current.left); //left-right case
+            }
+            return rotateRight(current);
+        } else if(balance < -1) {
+            if(height(current.right.right) < height(current.right.left)) {
+                current.right = rotateRight(current.right); //right-left case
+            }
+            return rotateLeft(current);
+        }
+        return current;
+    }
+
+    private Node rotateLeft(Node current) {
+        Node newRoot = current.right;
+        current.right = newRoot.left;
+        newRoot.left = current;
+        update(current);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private Node rotateRight(Node current) {
+        Node newRoot = current.left;
+        current.left = newRoot.right;
+        newRoot.right = current;
+        update(current);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private void update(Node current) {
+        current.height = 1 + Math.max(height(current.left), height(current.right));
+        current.count = 1 + count(current.left) + count(current.right);
+    }
+
+    private int count(Node current) {
+        return current == null ? 0 : current.count;
+    }
+
+    /**
+     * Finds the k-th smallest element in O(log n) for a balanced tree, by using the
+     * number of elements under each node to pick a side.
+     * @param k the position of the element in sorted order, starting at 0
+     * @return the k-th smallest element
+     * @throws IndexOutOfBoundsException if k is negative or not less than size()
+     */
+    public T select(int k) {
+        if(k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("index out of bounds: " + k);
+        }
+
+        Node current = root;
+        while(true) {
+            int leftCount = count(current.left);
+            if(k < leftCount) {
                 current = current.left;
-                size--;
-            } else if(current.right != null) { //one child
+            } else if(k > leftCount) {
+                k -= leftCount + 1; //skip the left subtree and this node
                 current = current.right;
-                size--;
-            } else { //no children
-                current = null;
-                size--;
+            } else {
+                return current.data;
             }
+        }
+    }
+
+    /**
+     * @param element the element to rank, which does not have to be in the tree
+     * @return how many elements in the tree are smaller than the element
+     */
+    public int rank(T element) {
+        return countBelow(element, false);
+    }
 
+    /**
+     * @param low the smallest element to count
+     * @param high the largest element to count
+     * @return how many elements in the tree are between low and high, inclusive
+     */
+    public int countInRange(T low, T high) {
+        if(low.compareTo(high) > 0) {
+            return 0;
         }
-        return current;
+        return countBelow(high, true) - countBelow(low, false);
+    }
+
+    /**
+     * Finds the element at a percentile with the nearest-rank method, so the result is
+     * always an element of the tree.
+     * @param percent the percentile, from 0 to 100
+     * @return the smallest element that at least percent of the elements are less than or equal to
+     * @throws IllegalArgumentException if percent is not between 0 and 100
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public T percentile(double percent) {
+        if(!(percent >= 0 && percent <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percent);
+        } else if(isEmpty()) {
+            throw new NoSuchElementException("Cannot find a percentile of an empty tree");
+        }
+        int k = (int) Math.ceil(percent / 100 * size) - 1;
+        return select(Math.max(0, Math.min(k, size - 1)));
     }
 
-    private Node findMax(Node current) {
-        if(current.right != null) {
-            return findMax(current.right);
+    private int countBelow(T element, boolean inclusive) {
+        //add up every left subtree (and node) we pass on the way right
+        int below = 0;
+        Node current = root;
+        while(current != null) {
+            int compare = current.data.compareTo(element);
+            if(compare < 0 || (compare == 0 && inclusive)) {
+                below += count(current.left) + 1;
+                current = current.right;
+            } else {
+                current = current.left;
+            }
         }
-        return current;
+        return below;
+    }
+
+    private int height(Node current) {
+        return current == null ? 0 : current.height;
+    }
+
+    /**
+     * @return the number of levels in the tree, 0 if it is empty
+     */
+    public int height() {
+        return balanced ? height(root) : measureHeight(root);
+    }
+
+    private int measureHeight(Node current) {
+        //plain trees do not track heights, so walk them one level at a time
+        int levels = 0;
+        List<Node> level = new ArrayList<>();
+        if(current != null) {
+            level.add(current);
+        }
+        while(!level.isEmpty()) {
+            levels++;
+            List<Node> nextLevel = new ArrayList<>();
+            for(Node node : level) {
+                if(node.left != null) {
+                    nextLevel.add(node.left);
+                }
+                if(node.right != null) {
+                    nextLevel.add(node.right);
+                }
+            }
+            level = nextLevel;
+        }
+        return levels;
+    }
+
+    /**
+     * @return the smallest element in the tree
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public T first() {
+        if(isEmpty()) {
+            throw new NoSuchElementException("Cannot get the first element of an empty tree");
+        }
+        Node current = root;
+        while(current.left != null) {
+            current = current.left;
+        }
+        return current.data;
+    }
+
+    /**
+     * @return the largest element in the tree
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public T last() {
+        if(isEmpty()) {
+            throw new NoSuchElementException("Cannot get the last element of an empty tree");
+        }
+        Node current = root;
+        while(current.right != null) {
+            current = current.right;
+        }
+        return current.data;
+    }
+
+    /**
+     * Removes and returns the smallest element
+     * @return the smallest element, or null if the tree is empty
+     */
+    public T pollFirst() {
+        if(isEmpty()) {
+            return null;
+        }
+        T first = first();
+        remove(first);
+        return first;
+    }
+
+    /**
+     * Removes and returns the largest element
+     * @return the largest element, or null if the tree is empty
+     */
+    public T pollLast() {
+        if(isEmpty()) {
+            return null;
+        }
+        T last = last();
+        remove(last);
+        return last;
+    }
+
+    /**
+     * @param element the element to compare to
+     * @return the largest element less than or equal to the element, or null if there is none
+     */
+    public T floor(T element) {
+        return closest(element, true, true);
+    }
+
+    /**
+     * @param element the element to compare to
+     * @return the largest element strictly less than the element, or null if there is none
+     */
+    public T lower(T element) {
+        return closest(element, true, false);
+    }
+
+    /**
+     * @param element the element to compare to
+     * @return the smallest element greater than or equal to the element, or null if there is none
+     */
+    public T ceiling(T element) {
+        return closest(element, false, true);
+    }
+
+    /**
+     * @param element the element to compare to
+     * @return the smallest element strictly greater than the element, or null if there is none
+     */
+    public T higher(T element) {
+        return closest(element, false, false);
+    }
+
+    private T closest(T element, boolean below, boolean inclusive) {
+        //remember the best candidate on the way down, every step gets closer to the element
+        T best = null;
+        Node current = root;
+        while(current != null) {
+            int compare = current.data.compareTo(element);
+            if(compare == 0 && inclusive) {
+                return current.data;
+            }
+
+            if(below) {
+                //anything smaller is a candidate, and a closer one can only be to its right
+                if(compare < 0) {
+                    best = current.data;
+                    current = current.right;
+                } else {
+                    current = current.left;
+                }
+            } else {
+                //anything bigger is a candidate, and a closer one can only be to its left
+                if(compare > 0) {
+                    best = current.data;
+                    current = current.left;
+                } else {
+                    current = current.right;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Creates a live view of every element below an upper bound. Changes to the tree
+     * show up in the view, and elements added through the view go into the tree.
+     * @param toElement the upper bound
+     * @param inclusive true if the upper bound itself is part of the view
+     * @return a view of the elements below the bound
+     */
+    public SortedSet<T> headSet(T toElement, boolean inclusive) {
+        return new RangeView(null, false, toElement, inclusive);
+    }
+
+    /**
+     * Creates a live view of every element above a lower bound.
+     * @param fromElement the lower bound
+     * @param inclusive true if the lower bound itself is part of the view
+     * @return a view of the elements above the bound
+     */
+    public SortedSet<T> tailSet(T fromElement, boolean inclusive) {
+        return new RangeView(fromElement, inclusive, null, false);
+    }
+
+    /**
+     * Creates a live view of every element between two bounds. Its iterator seeks straight
+     * to the lower bound and stops at the upper bound, so walking a window of k elements
+     * costs O(log n + k), and its size is worked out from two ranks in O(log n).
+     * @param fromElement the lower bound
+     * @param fromInclusive true if the lower bound itself is part of the view
+     * @param toElement the upper bound
+     * @param toInclusive true if the upper bound itself is part of the view
+     * @return a view of the elements between the bounds
+     */
+    public SortedSet<T> subSet(T fromElement, boolean fromInclusive, T toElement, boolean toInclusive) {
+        return new RangeView(fromElement, fromInclusive, toElement, toInclusive);
     }
 
     /**
@@ -201,17 +697,26 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
      * @return a list version of the tree
      */
     public List<T> toList() {
-        List<T> results = new ArrayList<>();
-        toList(root, results);
+        List<T> results = new ArrayList<>(size);
+        for(T element : this) {
+            results.add(element);
+        }
         return results;
     }
 
-    private void toList(Node current, List<T> results) {
-        if(current != null) {
-            inOrder(current.left); //left
-            results.add(current.data);
-            inOrder(current.right); //right
+    /**
+     * Copies the tree into an immutable, array-packed search tree for lookup-heavy use.
+     * Later changes to this tree do not show up in the frozen copy.
+     * @return a frozen copy of the tree
+     */
+    public FrozenSearchTree<T> freeze() {
+        Object[] sorted = new Object[size];
+        int index = 0;
+        for(T element : this) {
+            sorted[index] = element;
+            index++;
         }
+        return new FrozenSearchTree<>(sorted);
     }
 
     @Override
@@ -222,6 +727,9 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
     private class BSTIterator implements Iterator<T> {
 
         private Stack<Node> nodeStack = new Stack<>();
+        private T high; //stop after this element, or null to go to the end
+        private boolean highInclusive;
+        private T lastReturned; //null until next() is called, and again after remove()
 
         public BSTIterator(Node current) {
             //move to the first node
@@ -231,13 +739,31 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
             }
         }
 
+        public BSTIterator(T low, boolean lowInclusive, T high, boolean highInclusive) {
+            this.high = high;
+            this.highInclusive = highInclusive;
+            seek(low, lowInclusive);
+        }
+
         @Override
         public boolean hasNext() {
-            return !nodeStack.isEmpty();
+            if(nodeStack.isEmpty()) {
+                return false;
+            } else if(high == null) {
+                return true;
+            }
+
+            //stop at the upper bound
+            int compare = nodeStack.peek().data.compareTo(high);
+            return compare < 0 || (compare == 0 && highInclusive);
         }
 
         @Override
         public T next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException("No more elements in the tree");
+            }
+
             //step#1: retrieve the next element to report
             Node next = nodeStack.pop();
 
@@ -254,7 +780,39 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
                     current = current.left;
                 }
             }
-            return next.data;
+            lastReturned = next.data;
+            return lastReturned;
+        }
+
+        /**
+         * Removes the element last returned by next() from the tree. Removing can rotate
+         * the tree and invalidate the stack, so the iterator seeks again to the first
+         * element after the one that was removed.
+         * @throws IllegalStateException if next() has not been called since the last remove()
+         */
+        @Override
+        public void remove() {
+            if(lastReturned == null) {
+                throw new IllegalStateException("next() has not been called");
+            }
+            BinarySearchTree.this.remove(lastReturned);
+            nodeStack.clear();
+            seek(lastReturned, false);
+            lastReturned = null;
+        }
+
+        private void seek(T low, boolean lowInclusive) {
+            //seek to the lower bound, stacking only the nodes that are inside it
+            Node current = root;
+            while(current != null) {
+                int compare = (low == null) ? 1 : current.data.compareTo(low);
+                if(compare > 0 || (compare == 0 && lowInclusive)) {
+                    nodeStack.push(current);
+                    current = current.left;
+                } else {
+                    current = current.right;
+                }
+            }
         }
 
         @Override
@@ -265,6 +823,157 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
         }
     }
 
+    /**
+     * A live view of the elements between two optional bounds. A null bound means
+     * the view is open on that side.
+     */
+    private class RangeView extends AbstractSet<T> implements SortedSet<T> {
+
+        private final T low;
+        private final boolean lowInclusive;
+        private final T high;
+        private final boolean highInclusive;
+
+        private RangeView(T low, boolean lowInclusive, T high, boolean highInclusive) {
+            if(low != null && high != null && low.compareTo(high) > 0) {
+                throw new IllegalArgumentException("the lower bound is greater than the upper bound");
+            }
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.highInclusive = highInclusive;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new BSTIterator(low, lowInclusive, high, highInclusive);
+        }
+
+        @Override
+        public int size() {
+            //everything up to the upper bound, minus everything before the lower bound
+            int upTo = (high == null) ? BinarySearchTree.this.size : countBelow(high, highInclusive);
+            int before = (low == null) ? 0 : countBelow(low, !lowInclusive);
+            return Math.max(0, upTo - before);
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            T element = (T) object;
+            return inRange(element) && BinarySearchTree.this.contains(element);
+        }
+
+        @Override
+        public boolean add(T element) {
+            if(!inRange(element)) {
+                throw new IllegalArgumentException("element is out of the range of this view");
+            }
+            int oldSize = BinarySearchTree.this.size;
+            BinarySearchTree.this.add(element);
+            return BinarySearchTree.this.size != oldSize;
+        }
+
+        @Override
+        public boolean remove(Object object) {
+            T element = (T) object;
+            return inRange(element) && BinarySearchTree.this.remove(element);
+        }
+
+        @Override
+        public T first() {
+            T first = (low == null) ? (BinarySearchTree.this.isEmpty() ? null : BinarySearchTree.this.first()) :
+                    closest(low, false, lowInclusive);
+            if(first == null || tooHigh(first)) {
+                throw new NoSuchElementException("The view is empty");
+            }
+            return first;
+        }
+
+        @Override
+        public T last() {
+            T last = (high == null) ? (BinarySearchTree.this.isEmpty() ? null : BinarySearchTree.this.last()) :
+                    closest(high, true, highInclusive);
+            if(last == null || tooLow(last)) {
+                throw new NoSuchElementException("The view is empty");
+            }
+            return last;
+        }
+
+        @Override
+        public SortedSet<T> headSet(T toElement) {
+            return subView(low, lowInclusive, toElement, false);
+        }
+
+        @Override
+        public SortedSet<T> tailSet(T fromElement) {
+            return subView(fromElement, true, high, highInclusive);
+        }
+
+        @Override
+        public SortedSet<T> subSet(T fromElement, T toElement) {
+            return subView(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public Comparator<? super T> comparator() {
+            return null; //natural ordering
+        }
+
+        private SortedSet<T> subView(T from, boolean fromInclusive, T to, boolean toInclusive) {
+            //a null bound keeps this view's bound, anything else has to fall inside this view
+            if(from == null) {
+                from = low;
+                fromInclusive = lowInclusive;
+            } else if(outsideLow(from, fromInclusive)) {
+                throw new IllegalArgumentException("fromElement is out of the range of this view");
+            }
+            if(to == null) {
+                to = high;
+                toInclusive = highInclusive;
+            } else if(outsideHigh(to, toInclusive)) {
+                throw new IllegalArgumentException("toElement is out of the range of this view");
+            }
+            return new RangeView(from, fromInclusive, to, toInclusive);
+        }
+
+        private boolean outsideLow(T bound, boolean inclusive) {
+            //an exclusive bound may sit on this view's exclusive bound, an inclusive one may not
+            if(low == null) {
+                return false;
+            }
+            int compare = bound.compareTo(low);
+            return compare < 0 || (compare == 0 && inclusive && !lowInclusive);
+        }
+
+        private boolean outsideHigh(T bound, boolean inclusive) {
+            if(high == null) {
+                return false;
+            }
+            int compare = bound.compareTo(high);
+            return compare > 0 || (compare == 0 && inclusive && !highInclusive);
+        }
+
+        private boolean inRange(T element) {
+            return !tooLow(element) && !tooHigh(element);
+        }
+
+        private boolean tooLow(T element) {
+            if(low == null) {
+                return false;
+            }
+            int compare = element.compareTo(low);
+            return compare < 0 || (compare == 0 && !lowInclusive);
+        }
+
+        private boolean tooHigh(T element) {
+            if(high == null) {
+                return false;
+            }
+            int compare = element.compareTo(high);
+            return compare > 0 || (compare == 0 && !highInclusive);
+        }
+    }
+
     private class NaiveIterator implements Iterator<T> {
 
         private Object[] data;
@@ -302,6 +1011,8 @@ public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T>{
         private T data;
         private Node left;
         private Node right;
+        private int height = 1; //only kept up to date in a balanced tree
+        private int count = 1; //how many elements are in the subtree rooted here
 
         public Node(T data) {
             this.data = data;
@@ -0,0 +1,177 @@
+package structures.trees;
+
+import java.util.*;
+
+/**
+ * This is an immutable search tree packed into an array in Eytzinger (breadth-first) order,
+ * made by BinarySearchTree.freeze(). The root is at index 1 and the children of index k are
+ * at 2k and 2k + 1, so there are no node objects or child pointers to chase. The top levels
+ * of the tree sit next to each other at the front of the array and stay in cache, and each
+ * step of a search reads the next level from a spot it can compute up front.
+ * <p>
+ * Searches walk the full height of the tree without an equality check at each level. A step
+ * only picks the child to go to next, remembering the closest element on the way down, so
+ * the loop is a single compare and an index update that the JIT compiles tightly.
+ * @param <T> is the generic element to be stored
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public final class FrozenSearchTree<T extends Comparable<T>> implements Iterable<T> {
+
+    private final Object[] tree; //1-based, tree[0] is unused
+    private final int[] ranks; //ranks[k] is the position of tree[k] in sorted order
+    private final int size;
+
+    /**
+     * FrozenSearchTree Constructor
+     * @param sorted the elements in strictly increasing order
+     */
+    FrozenSearchTree(Object[] sorted) {
+        this.size = sorted.length;
+        this.tree = new Object[size + 1];
+        this.ranks = new int[size + 1];
+
+        //an in-order walk of the implicit tree visits the slots in sorted order
+        int rank = 0;
+        for(int k = leftmost(1); k != 0; k = successor(k)) {
+            tree[k] = sorted[rank];
+            ranks[k] = rank;
+            rank++;
+        }
+    }
+
+    /**
+     * @return the number of elements in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the tree is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param element the element to look for
+     * @return true if the element is in the tree
+     */
+    public boolean contains(T element) {
+        int k = ceilingIndex(element);
+        return k != 0 && element(k).compareTo(element) == 0;
+    }
+
+    /**
+     * @param element the element to compare to
+     * @return the smallest element greater than or equal to the element, or null if there is none
+     */
+    public T ceiling(T element) {
+        int k = ceilingIndex(element);
+        return k == 0 ? null : element(k);
+    }
+
+    /**
+     * @param element the element to compare to
+     * @return the largest element less than or equal to the element, or null if there is none
+     */
+    public T floor(T element) {
+        //the floor is the last node we stepped right from on the way down
+        int floor = 0;
+        int k = 1;
+        while(k <= size) {
+            if(element(k).compareTo(element) <= 0) {
+                floor = k;
+                k = 2 * k + 1;
+            } else {
+                k = 2 * k;
+            }
+        }
+        return floor == 0 ? null : element(floor);
+    }
+
+    /**
+     * @param element the element to rank, which does not have to be in the tree
+     * @return how many elements in the tree are smaller than the element
+     */
+    public int rank(T element) {
+        int k = ceilingIndex(element);
+        return k == 0 ? size : ranks[k];
+    }
+
+    /**
+     * Walks the array in sorted order
+     * @return an iterator over the elements from smallest to largest
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next = size == 0 ? 0 : leftmost(1);
+
+            @Override
+            public boolean hasNext() {
+                return next != 0;
+            }
+
+            @Override
+            public T next() {
+                if(next == 0) {
+                    throw new NoSuchElementException("No more elements in the tree");
+                }
+                T item = element(next);
+                next = successor(next);
+                return item;
+            }
+        };
+    }
+
+    private int ceilingIndex(T element) {
+        //the ceiling is the last node we stepped left from on the way down
+        int ceiling = 0;
+        int k = 1;
+        while(k <= size) {
+            if(element(k).compareTo(element) < 0) {
+                k = 2 * k + 1;
+            } else {
+                ceiling = k;
+                k = 2 * k;
+            }
+        }
+        return ceiling;
+    }
+
+    private int leftmost(int k) {
+        if(k > size) {
+            return 0;
+        }
+        while(2 * k <= size) {
+            k = 2 * k;
+        }
+        return k;
+    }
+
+    private int successor(int k) {
+        //the smallest slot in the right subtree, if there is one
+        if(2 * k + 1 <= size) {
+            return leftmost(2 * k + 1);
+        }
+
+        //otherwise climb while we are a right child, then once more to the parent
+        while((k & 1) == 1) {
+            k >>>= 1;
+        }
+        return k >>> 1;
+    }
+
+    private T element(int k) {
+        return (T) tree[k];
+    }
+
+    @Override
+    public String toString() {
+        return "FrozenSearchTree{" +
+                "size=" + size +
+                '}';
+    }
+}
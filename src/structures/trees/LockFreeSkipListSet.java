@@ -0,0 +1,361 @@
+package structures.trees;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * This is a sorted set that any number of threads can read and change at once, without locks.
+ * It is a skip list: a sorted linked list at the bottom, with sparser "express" lists above it
+ * that skip over more and more elements, so a search drops down the levels in O(log n) steps.
+ * <p>
+ * Every link is an AtomicMarkableReference. A remove first marks the links out of a node,
+ * level by level from the top, which logically deletes it, and then the node is physically
+ * unlinked by whichever thread walks past it next. An add links the new node in at the bottom
+ * first, which is when it becomes part of the set, and then on each level above. Readers never
+ * change anything and never wait, and writers only retry when a compare-and-set loses a race.
+ * <p>
+ * Iterators are weakly consistent: they never throw ConcurrentModificationException, they see
+ * every element that was in the set for the whole walk, and they may or may not see changes
+ * made while they are walking.
+ * @param <T> is the generic element to be stored
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class LockFreeSkipListSet<T extends Comparable<T>> implements Iterable<T> {
+
+    private static final int MAX_LEVEL = 31; //enough levels for every int sized set
+
+    private final Node<T> head = new Node<>(null, MAX_LEVEL);
+    private final Node<T> tail = new Node<>(null, MAX_LEVEL);
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * LockFreeSkipListSet Constructor
+     */
+    public LockFreeSkipListSet() {
+        for(int level = 0; level <= MAX_LEVEL; level++) {
+            head.next[level] = new AtomicMarkableReference<>(tail, false);
+            tail.next[level] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    /**
+     * Adds an element to the set. Safe to call from any number of threads.
+     * @param element the element to add
+     * @return true if the element was added, false if it was already in the set
+     * @throws NullPointerException if element is null
+     */
+    public boolean add(T element) {
+        if(element == null) {
+            throw new NullPointerException("Cannot add null values into the set");
+        }
+
+        int topLevel = randomLevel();
+        Node<T>[] preds = newNodes();
+        Node<T>[] succs = newNodes();
+        while(true) {
+            if(find(element, preds, succs)) {
+                return false;
+            }
+
+            //link the new node in at the bottom first, that is when it joins the set
+            Node<T> node = new Node<>(element, topLevel);
+            for(int level = 0; level <= topLevel; level++) {
+                node.next[level] = new AtomicMarkableReference<>(succs[level], false);
+            }
+            if(!preds[0].next[0].compareAndSet(succs[0], node, false, false)) {
+                continue; //someone changed the bottom list under us, search again
+            }
+            size.incrementAndGet();
+
+            //then link it into each express list above, searching again whenever we lose a race
+            for(int level = 1; level <= topLevel; level++) {
+                while(true) {
+                    AtomicMarkableReference<Node<T>> link = node.next[level];
+                    Node<T> succ = link.getReference();
+                    if(link.isMarked()) {
+                        return true; //already being removed, no point linking it in higher
+                    }
+                    if(succ != succs[level] && !link.compareAndSet(succ, succs[level], false, false)) {
+                        continue;
+                    }
+                    if(preds[level].next[level].compareAndSet(succs[level], node, false, false)) {
+                        break;
+                    }
+                    find(element, preds, succs);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Removes an element from the set. Safe to call from any number of threads.
+     * @param element the element to remove
+     * @return true if this call removed the element, false if it was not in the set
+     */
+    public boolean remove(T element) {
+        if(element == null) {
+            return false;
+        }
+
+        Node<T>[] preds = newNodes();
+        Node<T>[] succs = newNodes();
+        if(!find(element, preds, succs)) {
+            return false;
+        }
+        Node<T> node = succs[0];
+
+        //mark the express links from the top down, so searches stop using the node
+        for(int level = node.topLevel; level >= 1; level--) {
+            AtomicMarkableReference<Node<T>> link = node.next[level];
+            while(!link.isMarked()) {
+                link.attemptMark(link.getReference(), true);
+            }
+        }
+
+        //marking the bottom link is the actual remove, only one thread can win it
+        AtomicMarkableReference<Node<T>> bottom = node.next[0];
+        while(true) {
+            Node<T> succ = bottom.getReference();
+            if(bottom.isMarked()) {
+                return false; //another thread removed it first
+            }
+            if(bottom.compareAndSet(succ, succ, false, true)) {
+                size.decrementAndGet();
+                find(element, preds, succs); //unlink it
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Looks for an element without changing anything, so it never retries or waits
+     * @param element the element to look for
+     * @return true if the element is in the set
+     */
+    public boolean contains(T element) {
+        if(element == null) {
+            return false;
+        }
+
+        Node<T> pred = head;
+        Node<T> curr = null;
+        for(int level = MAX_LEVEL; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while(true) {
+                //step over nodes that are being removed
+                while(curr != tail && curr.next[level].isMarked()) {
+                    curr = curr.next[level].getReference();
+                }
+                if(curr != tail && curr.value.compareTo(element) < 0) {
+                    pred = curr;
+                    curr = curr.next[level].getReference();
+                } else {
+                    break;
+                }
+            }
+        }
+        return curr != tail && curr.value.compareTo(element) == 0;
+    }
+
+    /**
+     * @return the number of elements, which may already be out of date while other threads are changing the set
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return true if there are no elements in the set
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return a weakly consistent iterator over every element, from smallest to largest
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new SkipListIterator(null, false, null, false);
+    }
+
+    /**
+     * Creates a weakly consistent iterator over the elements between two bounds. It seeks to
+     * the lower bound through the express lists, then walks the bottom list until the upper bound.
+     * @param fromElement the lower bound, or null to start at the smallest element
+     * @param fromInclusive true if the lower bound itself is included
+     * @param toElement the upper bound, or null to go to the largest element
+     * @param toInclusive true if the upper bound itself is included
+     * @return an iterator over the elements in the range, from smallest to largest
+     */
+    public Iterator<T> rangeIterator(T fromElement, boolean fromInclusive, T toElement, boolean toInclusive) {
+        return new SkipListIterator(fromElement, fromInclusive, toElement, toInclusive);
+    }
+
+    private boolean find(T element, Node<T>[] preds, Node<T>[] succs) {
+        //walk down the levels, unlinking any marked nodes we pass on the way
+        boolean[] marked = {false};
+        retry:
+        while(true) {
+            Node<T> pred = head;
+            Node<T> curr = null;
+            for(int level = MAX_LEVEL; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while(true) {
+                    Node<T> succ = curr.next[level].get(marked);
+                    while(marked[0]) {
+                        if(!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry; //pred changed under us, start over from the top
+                        }
+                        curr = succ;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if(curr != tail && curr.value.compareTo(element) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != tail && curr.value.compareTo(element) == 0;
+        }
+    }
+
+    private Node<T> seek(T element, boolean inclusive) {
+        //the first node at or after the element on the bottom level, found through the express lists
+        Node<T> pred = head;
+        Node<T> curr = tail;
+        for(int level = MAX_LEVEL; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while(curr != tail) {
+                int compare = curr.value.compareTo(element);
+                if(compare < 0 || (compare == 0 && !inclusive)) {
+                    pred = curr;
+                    curr = curr.next[level].getReference();
+                } else {
+                    break;
+                }
+            }
+        }
+
+        //return the node that was compared, a fresh read of pred's link could see a smaller node added since
+        return curr;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Node<T>[] newNodes() {
+        //arrays of a generic type can only be made raw
+        return (Node<T>[]) new Node[MAX_LEVEL + 1];
+    }
+
+    private int randomLevel() {
+        //each level up is half as likely as the one below
+        int random = ThreadLocalRandom.current().nextInt();
+        return Math.min(Integer.numberOfTrailingZeros(random), MAX_LEVEL);
+    }
+
+    @Override
+    public String toString() {
+        return "LockFreeSkipListSet{" +
+                "size=" + size.get() +
+                '}';
+    }
+
+    private static class Node<T> {
+        private final T value;
+        private final int topLevel;
+        private final AtomicMarkableReference<Node<T>>[] next;
+
+        private Node(T value, int topLevel) {
+            this.value = value;
+            this.topLevel = topLevel;
+            this.next = newLinks(topLevel + 1);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static <T> AtomicMarkableReference<Node<T>>[] newLinks(int length) {
+            return (AtomicMarkableReference<Node<T>>[]) new AtomicMarkableReference[length];
+        }
+
+        @Override
+        public String toString() {
+            return "Node{" +
+                    "value=" + value +
+                    ", topLevel=" + topLevel +
+                    '}';
+        }
+    }
+
+    private class SkipListIterator implements Iterator<T> {
+
+        private Node<T> next;
+        private final T low; //skip anything before this element, or null to start at the smallest
+        private final boolean lowInclusive;
+        private final T high; //stop after this element, or null to go to the end
+        private final boolean highInclusive;
+        private T lastReturned;
+
+        private SkipListIterator(T low, boolean lowInclusive, T high, boolean highInclusive) {
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.highInclusive = highInclusive;
+            this.next = (low == null) ? head.next[0].getReference() : seek(low, lowInclusive);
+            skipRemoved();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != tail;
+        }
+
+        @Override
+        public T next() {
+            if(next == tail) {
+                throw new NoSuchElementException("No more elements in the set");
+            }
+            lastReturned = next.value;
+            next = next.next[0].getReference();
+            skipRemoved();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if(lastReturned == null) {
+                throw new IllegalStateException("next() has not been called");
+            }
+            LockFreeSkipListSet.this.remove(lastReturned);
+            lastReturned = null;
+        }
+
+        private void skipRemoved() {
+            //step over logically removed nodes and anything below the lower bound,
+            //then stop for good past the upper bound
+            while(next != tail && (next.next[0].isMarked() || tooLow(next.value))) {
+                next = next.next[0].getReference();
+            }
+            if(next != tail && high != null) {
+                int compare = next.value.compareTo(high);
+                if(compare > 0 || (compare == 0 && !highInclusive)) {
+                    next = tail;
+                }
+            }
+        }
+
+        private boolean tooLow(T value) {
+            if(low == null) {
+                return false;
+            }
+            int compare = value.compareTo(low);
+            return compare < 0 || (compare == 0 && !lowInclusive);
+        }
+    }
+}
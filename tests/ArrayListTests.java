@@ -1,6 +1,7 @@
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import structures.array_lists.IGrowthStrategy;
 import structures.array_lists.MyArrayList;
 import java.awt.*;
 import java.util.*;
@@ -209,6 +210,15 @@ public class ArrayListTests {
 
         assertEquals(0, myList.size(), "size was not 0 after being cleared");
 
+        //clearing keeps the capacity, so a pre-sized list can be reused as a buffer
+        MyArrayList<Integer> buffer = new MyArrayList<>(1000);
+        for(int i = 0; i < 1000; i++) {
+            buffer.add(i);
+        }
+        buffer.clear();
+        assertEquals(1000, buffer.capacity(), "clear() threw away the capacity");
+        buffer.add(5);
+        assertEquals(5, buffer.get(0), "list did not work after being cleared");
     }
 
     @Test
@@ -299,6 +309,17 @@ public class ArrayListTests {
 
         //make sure size is correct after adding
         assertEquals(20, myList.size(), "size is not correct after adding new element by index");
+
+        //adding at the size appends, like List.add(index, element)
+        myList.add(myList.size(), 21);
+        assertEquals(21, myList.get(20), "element added at the size was not appended");
+        assertEquals(21, myList.size(), "size is not correct after appending by index");
+        try {
+            myList.add(myList.size() + 1, 22);
+            fail("Index out of bounds exception not thrown when given an index past the size to add()");
+        } catch (IndexOutOfBoundsException exception) {
+            //good
+        }
     }
 
     @Test
@@ -559,6 +580,469 @@ public class ArrayListTests {
         System.out.println(Arrays.toString(array));
     }
 
+    @Test
+    public void testPreSizedCapacity() {
+        MyArrayList<Integer> sized = new MyArrayList<>(1000);
+        assertEquals(1000, sized.capacity(), "constructor did not pre-size the backing array");
+
+        //filling the pre-sized list should never grow it
+        for(int i = 0; i < 1000; i++) {
+            sized.add(i);
+        }
+        assertEquals(1000, sized.capacity(), "list grew even though it was pre-sized");
+        assertEquals(1000, sized.size(), "size is incorrect after filling a pre-sized list");
+
+        try {
+            new MyArrayList<Integer>(-1);
+            fail("exception not thrown when given a negative capacity");
+        } catch (IllegalArgumentException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testEnsureCapacityAndTrimToSize() {
+        MyArrayList<Integer> list = new MyArrayList<>(0);
+        list.ensureCapacity(50);
+        assertTrue(list.capacity() >= 50, "ensureCapacity() did not grow the backing array");
+
+        for(int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        list.trimToSize();
+        assertEquals(10, list.capacity(), "trimToSize() did not shrink the backing array to size");
+
+        //make sure nothing was lost while trimming
+        for(int i = 0; i < 10; i++) {
+            assertEquals(i, list.get(i), "element lost after trimToSize()");
+        }
+    }
+
+    @Test
+    public void testGrowthStrategies() {
+        MyArrayList<Integer> doubling = new MyArrayList<>(4, IGrowthStrategy.doubling());
+        MyArrayList<Integer> half = new MyArrayList<>(4, IGrowthStrategy.oneAndAHalf());
+        MyArrayList<Integer> fixed = new MyArrayList<>(4, IGrowthStrategy.fixedStep(3));
+
+        for(int i = 0; i < 5; i++) {
+            doubling.add(i);
+            half.add(i);
+            fixed.add(i);
+        }
+
+        assertEquals(8, doubling.capacity(), "doubling strategy did not double the capacity");
+        assertEquals(6, half.capacity(), "1.5x strategy did not grow by half");
+        assertEquals(7, fixed.capacity(), "fixed step strategy did not grow by the step");
+
+        try {
+            IGrowthStrategy.fixedStep(0);
+            fail("exception not thrown with a fixed step of zero");
+        } catch (IllegalArgumentException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testRemoveKeepsOrderAndCapacity() {
+        MyArrayList<Integer> list = new MyArrayList<>(40);
+        for(int i = 0; i < 30; i++) {
+            list.add(i % 10);
+        }
+
+        //only the first occurrence should be removed
+        assertTrue(list.remove((Integer) 3), "element 3 was not removed");
+        assertEquals(29, list.size(), "size is incorrect after removing one element");
+        assertEquals(12, list.indexOf(3), "remove(Object) did not stop at the first occurrence");
+        assertEquals(4, list.get(3), "elements were not shifted down after remove(Object)");
+
+        assertEquals(0, list.remove(0), "wrong element returned from remove(int)");
+        assertEquals(1, list.get(0), "elements were not shifted down after remove(int)");
+
+        //removal should not reallocate the backing array
+        assertEquals(40, list.capacity(), "capacity changed after removing elements");
+    }
+
+    @Test
+    public void testRemoveIf() {
+        addElements();
+
+        assertTrue(myList.removeIf(item -> item % 2 == 0), "removeIf() did not report a change");
+        assertEquals(10, myList.size(), "size is incorrect after removeIf()");
+
+        //only the odd numbers should be left, in order
+        for(int i = 0; i < myList.size(); i++) {
+            assertEquals(i * 2 + 1, myList.get(i), "removeIf() did not keep the order of the list");
+        }
+
+        assertFalse(myList.removeIf(item -> item > 100), "removeIf() reported a change when nothing matched");
+    }
+
+    @Test
+    public void testRemoveAllKeepsOrder() {
+        addElements();
+
+        Collection<Integer> other = new HashSet<>();
+        for(int i = 5; i <= 10; i++) {
+            other.add(i);
+        }
+
+        assertTrue(myList.removeAll(other), "removeAll() did not report a change");
+        assertEquals(13, myList.size(), "size is incorrect after removeAll()");
+        assertEquals(Arrays.asList(1, 2, 3, 4, 11, 12, 13, 14, 15, 16, 17, 18, 19),
+                Arrays.asList(myList.toArray()), "removeAll() did not keep the order of the list");
+    }
+
+    @Test
+    public void testIndexedMode() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for(int i = 0; i < 30; i++) {
+            list.add(i % 10);
+        }
+        list.setIndexed(true);
+        assertTrue(list.isIndexed(), "list did not switch to indexed mode");
+
+        assertTrue(list.contains(4), "indexed list did not find element 4");
+        assertFalse(list.contains(40), "indexed list found an element that was never added");
+        assertEquals(4, list.indexOf(4), "indexed indexOf() did not return the first occurrence");
+        assertEquals(24, list.lastIndexOf(4), "indexed lastIndexOf() did not return the last occurrence");
+
+        //positions have to follow removals, inserts and replacements
+        list.remove(0);
+        assertEquals(3, list.indexOf(4), "indexOf() is stale after remove(int)");
+        list.add(0, 4);
+        assertEquals(0, list.indexOf(4), "indexOf() is stale after add(index, element)");
+        list.set(0, 99);
+        assertEquals(4, list.indexOf(4), "indexOf() is stale after set()");
+        assertEquals(0, list.indexOf(99), "replacement element was not indexed by set()");
+
+        list.removeAll(Arrays.asList(4, 99));
+        assertFalse(list.contains(4), "indexed list still contains 4 after removeAll()");
+        assertEquals(26, list.size(), "size is incorrect after removeAll() in indexed mode");
+
+        list.clear();
+        assertFalse(list.contains(5), "indexed list still contains elements after clear()");
+        list.setIndexed(false);
+        assertFalse(list.isIndexed(), "list did not leave indexed mode");
+    }
+
+    @Test
+    public void testIndexGrowsOnInsert() {
+        //inserting new values has to grow the hash table without losing any counts
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.add(-1);
+        list.setIndexed(true);
+        for(int i = 0; i < 1000; i++) {
+            list.add(0, i);
+        }
+        for(int i = 0; i < 1000; i++) {
+            assertTrue(list.contains(i), "indexed list lost " + i + " while the table grew");
+            assertEquals(999 - i, list.indexOf(i), "indexOf() is wrong for " + i + " after the table grew");
+        }
+        assertEquals(1000, list.indexOf(-1), "the original element moved to the wrong position");
+
+        //every count survived the resize, so removing each value once empties it out
+        for(int i = 0; i < 1000; i++) {
+            assertTrue(list.remove((Integer) i), "could not remove " + i);
+            assertFalse(list.contains(i), "count for " + i + " was too high after the table grew");
+        }
+    }
+
+    @Test
+    public void testIndexedPositionsFollowEdits() {
+        //random edits at the ends and in the middle, with lookups in between
+        for(boolean lazy : new boolean[] {false, true}) {
+            MyArrayList<Integer> list = new MyArrayList<>();
+            ArrayList<Integer> expected = new ArrayList<>();
+            list.setLazyDelete(lazy);
+            list.setIndexed(true);
+            Random random = new Random(5);
+            for(int step = 0; step < 5000; step++) {
+                int value = random.nextInt(40);
+                int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+                switch(random.nextInt(8)) {
+                    case 0:
+                        list.add(value);
+                        expected.add(value);
+                        break;
+                    case 1:
+                        list.add(0, value);
+                        expected.add(0, value);
+                        break;
+                    case 2:
+                        list.add(index, value);
+                        expected.add(index, value);
+                        break;
+                    case 3:
+                        if(!expected.isEmpty()) {
+                            assertEquals(expected.set(index, value), list.set(index, value), "set() returned the wrong element");
+                        }
+                        break;
+                    case 4:
+                        if(!expected.isEmpty()) {
+                            assertEquals(expected.remove(0), list.remove(0), "removed the wrong first element");
+                        }
+                        break;
+                    case 5:
+                        if(!expected.isEmpty()) {
+                            int end = expected.size() - 1;
+                            assertEquals(expected.remove(end), list.remove(end), "removed the wrong last element");
+                        }
+                        break;
+                    case 6:
+                        if(!expected.isEmpty()) {
+                            assertEquals(expected.remove(index), list.remove(index), "removed the wrong element");
+                        }
+                        break;
+                    default:
+                        if(!expected.isEmpty()) {
+                            assertEquals(expected.remove((Integer) value), list.remove((Integer) value),
+                                    "remove(Object) disagreed for " + value);
+                        }
+                        break;
+                }
+
+                int probe = random.nextInt(40);
+                assertEquals(expected.indexOf(probe), list.indexOf(probe), "indexOf() is wrong at step " + step);
+                assertEquals(expected.lastIndexOf(probe), list.lastIndexOf(probe), "lastIndexOf() is wrong at step " + step);
+            }
+            assertEquals(expected, new ArrayList<>(list), "the list and the index drifted apart");
+        }
+    }
+
+    @Test
+    public void testSetRejectsNull() {
+        addElements();
+        try {
+            myList.set(0, null);
+            fail("Null pointer exception was not thrown when setting a null value");
+        } catch (NullPointerException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testSpliterator() {
+        MyArrayList<Integer> list = new MyArrayList<>(10_000);
+        for(int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+
+        Spliterator<Integer> spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED
+                | Spliterator.ORDERED | Spliterator.NONNULL), "spliterator is missing characteristics");
+        assertEquals(10_000, spliterator.estimateSize(), "spliterator did not report the exact size");
+
+        //splitting should hand off exactly half
+        Spliterator<Integer> lowerHalf = spliterator.trySplit();
+        assertEquals(5_000, lowerHalf.estimateSize(), "spliterator did not split evenly");
+        assertEquals(5_000, spliterator.estimateSize(), "spliterator did not keep the upper half");
+
+        //a parallel stream should see every element exactly once
+        long sum = list.stream().parallel().mapToLong(Integer::longValue).sum();
+        assertEquals(49_995_000L, sum, "parallel stream did not visit every element once");
+    }
+
+    @Test
+    public void testSpliteratorFailsFast() {
+        addElements();
+
+        Spliterator<Integer> spliterator = myList.spliterator();
+        try {
+            spliterator.forEachRemaining(item -> myList.add(item));
+            fail("exception not thrown when the list changed while splitting");
+        } catch (ConcurrentModificationException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testSubListView() {
+        addElements();
+
+        //sub lists stop before toIndex
+        List<Integer> subList = myList.subList(5, 10);
+        assertEquals(5, subList.size(), "sub list should not include the element at toIndex");
+        assertEquals(Arrays.asList(6, 7, 8, 9, 10), new ArrayList<>(subList), "sub list has the wrong elements");
+
+        //writes go through to the list
+        subList.set(0, 60);
+        assertEquals(60, myList.get(5), "set() on the sub list did not write through to the list");
+
+        //nested views share the same array
+        List<Integer> nested = subList.subList(1, 3);
+        assertEquals(Arrays.asList(7, 8), new ArrayList<>(nested), "nested sub list has the wrong elements");
+        nested.set(1, 80);
+        assertEquals(80, myList.get(7), "set() on a nested sub list did not write through to the list");
+
+        //structural changes to the list invalidate the view
+        myList.add(100);
+        try {
+            subList.get(0);
+            fail("exception not thrown when reading a sub list after the list changed");
+        } catch (ConcurrentModificationException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testSort() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        Random random = new Random(7);
+        for(int i = 0; i < 1000; i++) {
+            list.add(random.nextInt(500));
+        }
+        list.setIndexed(true);
+
+        list.sort(null);
+        for(int i = 1; i < list.size(); i++) {
+            assertTrue(list.get(i - 1) <= list.get(i), "list is not in natural order after sort()");
+        }
+        assertEquals(0, list.indexOf(list.get(0)), "index positions are stale after sort()");
+
+        list.sort(Comparator.reverseOrder());
+        for(int i = 1; i < list.size(); i++) {
+            assertTrue(list.get(i - 1) >= list.get(i), "list is not in reverse order after sort()");
+        }
+    }
+
+    @Test
+    public void testParallelSort() {
+        MyArrayList<Integer> list = new MyArrayList<>(100_000);
+        Random random = new Random(11);
+        for(int i = 0; i < 100_000; i++) {
+            list.add(random.nextInt());
+        }
+
+        list.parallelSort(null);
+        for(int i = 1; i < list.size(); i++) {
+            assertTrue(list.get(i - 1) <= list.get(i), "list is not in order after parallelSort()");
+        }
+        assertEquals(100_000, list.size(), "parallelSort() changed the size of the list");
+    }
+
+    @Test
+    public void testBinarySearch() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for(int i = 0; i < 100; i += 2) {
+            list.add(i);
+        }
+
+        assertEquals(10, list.binarySearch(20, null), "binarySearch() did not find element 20");
+        assertEquals(-11, list.binarySearch(19, null), "binarySearch() did not report the insertion point");
+
+        list.sort(Comparator.reverseOrder());
+        assertEquals(39, list.binarySearch(20, Comparator.reverseOrder()),
+                "binarySearch() did not use the comparator");
+    }
+
+    @Test
+    public void testBulkRanges() {
+        MyArrayList<Integer> list = new MyArrayList<>(0);
+        Integer[] frame = new Integer[10];
+        for(int i = 0; i < frame.length; i++) {
+            frame[i] = i;
+        }
+
+        //append the middle of the frame in one call
+        list.addAll(frame, 2, 5);
+        assertEquals(Arrays.asList(2, 3, 4, 5, 6), new ArrayList<>(list), "addAll(array) copied the wrong range");
+
+        //pull a range back out into a reused buffer
+        Integer[] buffer = new Integer[4];
+        list.getRange(1, buffer, 1, 3);
+        assertArrayEquals(new Integer[] {null, 3, 4, 5}, buffer, "getRange() copied the wrong range");
+
+        //overwrite a range in place
+        list.setRange(0, new Integer[] {20, 30}, 0, 2);
+        assertEquals(Arrays.asList(20, 30, 4, 5, 6), new ArrayList<>(list), "setRange() replaced the wrong range");
+
+        try {
+            list.getRange(3, buffer, 0, 3);
+            fail("exception not thrown when the range runs past the end of the list");
+        } catch (IndexOutOfBoundsException exception) {
+            //good
+        }
+
+        try {
+            list.addAll(new Integer[] {1, null}, 0, 2);
+            fail("Null pointer exception was not thrown when adding in null values");
+        } catch (NullPointerException exception) {
+            //good
+        }
+        assertEquals(5, list.size(), "a failed bulk add changed the list");
+    }
+
+    /**
+     * Testing lazy delete mode, where remove() leaves tombstones behind
+     */
+    @Test
+    public void testLazyDelete() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        ArrayList<Integer> expected = new ArrayList<>();
+        list.setLazyDelete(true);
+        list.setCompactionThreshold(0.5);
+        assertTrue(list.isLazyDelete(), "lazy delete mode was not turned on");
+        for (int i = 0; i < 300; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+
+        //remove from the middle and the front, reading through the tombstones as we go
+        for (int i = 0; i < 100; i++) {
+            int index = (i * 37) % expected.size();
+            assertEquals(expected.remove(index), list.remove(index), "removed the wrong element");
+            assertEquals(expected.size(), list.size(), "size does not skip the tombstones");
+            assertEquals(expected.get(expected.size() / 2), list.get(list.size() / 2),
+                    "get() did not skip the tombstones");
+        }
+        assertTrue(list.remove(Integer.valueOf(299)), "could not remove an element by value");
+        expected.remove(Integer.valueOf(299));
+        assertFalse(list.contains(299), "a removed element is still in the list");
+
+        //set and add work between the tombstones too
+        list.set(10, -1);
+        expected.set(10, -1);
+        list.add(1000);
+        expected.add(1000);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i), "the list is out of order at " + i);
+        }
+
+        //iterating and compacting give the same elements in the same order
+        assertEquals(expected, new ArrayList<>(list), "iterating did not skip the tombstones");
+        list.compactNow();
+        assertEquals(expected, new ArrayList<>(list), "compacting changed the elements");
+        assertEquals(expected.indexOf(1000), list.indexOf(1000), "indexOf is wrong after compacting");
+
+        //bulk operations read past a tombstone in the first slot
+        MyArrayList<Integer> bulk = new MyArrayList<>();
+        bulk.setLazyDelete(true);
+        for (int i = 0; i < 100; i++) {
+            bulk.add(i);
+        }
+        bulk.remove(0);
+        assertTrue(bulk.containsAll(Arrays.asList(1, 50, 99)), "containsAll() failed past a tombstone");
+        assertFalse(bulk.containsAll(Arrays.asList(0, 1)), "containsAll() found a removed element");
+        assertTrue(bulk.removeAll(Arrays.asList(1, 2, 3)), "removeAll() failed past a tombstone");
+        assertTrue(bulk.retainAll(Arrays.asList(4, 5, 6, 7)), "retainAll() failed past a tombstone");
+        assertEquals(Arrays.asList(4, 5, 6, 7), new ArrayList<>(bulk), "bulk operations left the wrong elements");
+
+        //turning it off goes back to shifting on every remove
+        list.remove(0);
+        list.setLazyDelete(false);
+        expected.remove(0);
+        assertFalse(list.isLazyDelete(), "lazy delete mode was not turned off");
+        assertEquals(expected, new ArrayList<>(list), "turning lazy delete off lost elements");
+
+        try {
+            list.setCompactionThreshold(1.5);
+            fail("Illegal argument exception was not thrown for a threshold above 1");
+        } catch (IllegalArgumentException exception) {
+            //good
+        }
+    }
+
     private void addElements() {
         for (int i = 1; i <= 19; i++) {
             myList.add(i);
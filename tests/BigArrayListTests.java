@@ -0,0 +1,97 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import structures.array_lists.BigArrayList;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test file confirms functionality of the long indexed, paged array list
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class BigArrayListTests {
+
+    private BigArrayList<Long> list;
+
+    @BeforeEach
+    public void create() {
+        //tiny pages, so every test crosses plenty of page boundaries
+        list = new BigArrayList<>(4);
+        for(long i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+    }
+
+    @Test
+    public void testAddGetSet() {
+        assertEquals(1000, list.size(), "added 1000 elements but size is not 1000");
+        for(long i = 0; i < 1000; i++) {
+            assertEquals(i, list.get(i), "element not found at the index it was added to");
+        }
+
+        assertEquals(17L, list.set(17, 170L), "set() did not return the old element");
+        assertEquals(170L, list.get(17), "element was not replaced by set()");
+        assertEquals(17, list.indexOf(170L), "indexOf() did not find the replaced element");
+        assertFalse(list.contains(5000L), "contains() found an element that was never added");
+
+        try {
+            list.get(1000);
+            fail("Index out of bounds exception not thrown when given a index too large");
+        } catch (IndexOutOfBoundsException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testRemoveLast() {
+        for(long i = 999; i >= 0; i--) {
+            assertEquals(i, list.removeLast(), "removeLast() did not return the last element");
+        }
+        assertTrue(list.isEmpty(), "list is not empty after removing every element");
+
+        try {
+            list.removeLast();
+            fail("exception not thrown when removing from an empty list");
+        } catch (NoSuchElementException exception) {
+            //good
+        }
+
+        //pages that were released should come back when adding again
+        list.add(5L);
+        assertEquals(5L, list.get(0), "element not found after re-using the list");
+    }
+
+    @Test
+    public void testStreams() {
+        assertEquals(499_500L, list.stream().mapToLong(Long::longValue).sum(),
+                "sequential stream did not visit every element once");
+        assertEquals(499_500L, list.parallelStream().mapToLong(Long::longValue).sum(),
+                "parallel stream did not visit every element once");
+
+        long counter = 0;
+        for(Long item : list) {
+            assertEquals(counter, item, "iterator did not return elements in order");
+            counter++;
+        }
+        assertEquals(1000, counter, "iterator did not visit every element");
+    }
+
+    @Test
+    public void testIteratorFailsFast() {
+        Iterator<Long> iterator = list.iterator();
+        iterator.next();
+        list.add(1L);
+
+        try {
+            iterator.next();
+            fail("exception not thrown when the list changed while iterating");
+        } catch (ConcurrentModificationException exception) {
+            //good
+        }
+    }
+}
@@ -0,0 +1,93 @@
+import org.junit.jupiter.api.Test;
+import structures.array_lists.CompressedSortedIntList;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test file confirms functionality of the compressed sorted int list
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class CompressedSortedIntListTests {
+
+    @Test
+    public void testAddGetAndIterate() {
+        //gaps of every width, including ones that need all 32 bits
+        int[] values = new int[1024];
+        values[0] = Integer.MIN_VALUE;
+        for(int i = 1; i < values.length; i++) {
+            values[i] = values[i - 1] + 1 + (i % 7 == 0 ? 1 << (i % 24) : i % 3);
+        }
+        values[values.length - 1] = Integer.MAX_VALUE;
+
+        CompressedSortedIntList list = new CompressedSortedIntList(values);
+        assertEquals(values.length, list.size(), "size is not the number of values added");
+        for(int i = 0; i < values.length; i++) {
+            assertEquals(values[i], list.get(i), "wrong value at index " + i);
+        }
+        assertArrayEquals(values, list.toArray(), "iterating did not decode every value in order");
+        assertEquals(Integer.MIN_VALUE, list.first(), "wrong first value");
+        assertEquals(Integer.MAX_VALUE, list.last(), "wrong last value");
+
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        for(int value : values) {
+            assertEquals(value, iterator.nextInt(), "iterator returned the wrong value");
+        }
+        assertFalse(iterator.hasNext(), "iterator did not stop at the end");
+    }
+
+    @Test
+    public void testContainsAndRank() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        CompressedSortedIntList list = new CompressedSortedIntList();
+        for(int value = 5; value < 50_000; value += 3) {
+            list.add(value);
+            expected.add(value);
+        }
+
+        for(int value = 0; value < 50_010; value++) {
+            assertEquals(expected.contains(value), list.contains(value), "contains() is wrong for " + value);
+            assertEquals(expected.headSet(value).size(), list.rank(value), "rank() is wrong for " + value);
+        }
+
+        //dense ids should pack into a couple of bits each
+        assertTrue(list.compressedBytes() < list.size(), "dense ids were not compressed");
+    }
+
+    @Test
+    public void testIntersect() {
+        Random random = new Random(18);
+        TreeSet<Integer> left = new TreeSet<>();
+        TreeSet<Integer> right = new TreeSet<>();
+        for(int i = 0; i < 5000; i++) {
+            left.add(random.nextInt(20_000));
+            right.add(random.nextInt(100_000));
+        }
+        CompressedSortedIntList a = new CompressedSortedIntList(left.stream().mapToInt(Integer::intValue).toArray());
+        CompressedSortedIntList b = new CompressedSortedIntList(right.stream().mapToInt(Integer::intValue).toArray());
+
+        TreeSet<Integer> expected = new TreeSet<>(left);
+        expected.retainAll(right);
+        int[] both = expected.stream().mapToInt(Integer::intValue).toArray();
+        assertArrayEquals(both, a.intersect(b).toArray(), "wrong intersection");
+        assertArrayEquals(both, b.intersect(a).toArray(), "intersection depends on the order");
+        assertEquals(0, a.intersect(new CompressedSortedIntList()).size(), "intersecting an empty list is not empty");
+    }
+
+    @Test
+    public void testRejectsUnsortedValues() {
+        CompressedSortedIntList list = new CompressedSortedIntList(new int[] {1, 2, 3});
+        try {
+            list.add(3);
+            fail("Illegal argument exception was not thrown for a repeated value");
+        } catch (IllegalArgumentException exception) {
+            //good
+        }
+        assertEquals(3, list.size(), "a rejected value changed the list");
+    }
+}
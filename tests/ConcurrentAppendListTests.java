@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+import structures.array_lists.ConcurrentAppendList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test file confirms functionality of the lock-free append-only list
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class ConcurrentAppendListTests {
+
+    @Test
+    public void testAddAndGet() {
+        ConcurrentAppendList<Integer> list = new ConcurrentAppendList<>();
+
+        //go past one chunk so a second chunk has to be made
+        for(int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+
+        assertEquals(10_000, list.size(), "added 10000 elements but size is not 10000");
+        for(int i = 0; i < 10_000; i++) {
+            assertEquals(i, list.get(i), "element not found at the index it was added to");
+        }
+
+        try {
+            list.get(10_000);
+            fail("Index out of bounds exception not thrown when given a index past the watermark");
+        } catch (IndexOutOfBoundsException exception) {
+            //good
+        }
+
+        try {
+            list.add(null);
+            fail("Null pointer exception was not thrown when adding in null values");
+        } catch (NullPointerException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testIsAppendOnly() {
+        ConcurrentAppendList<Integer> list = new ConcurrentAppendList<>();
+        list.add(1);
+
+        try {
+            list.remove(0);
+            fail("exception not thrown when removing from an append-only list");
+        } catch (UnsupportedOperationException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testConcurrentAppends() throws InterruptedException {
+        final int THREADS = 8;
+        final int PER_THREAD = 20_000;
+        ConcurrentAppendList<Integer> list = new ConcurrentAppendList<>();
+
+        List<Thread> threads = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++) {
+            final int base = t * PER_THREAD;
+            Thread thread = new Thread(() -> {
+                for(int i = 0; i < PER_THREAD; i++) {
+                    list.add(base + i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        //every element should show up exactly once
+        assertEquals(THREADS * PER_THREAD, list.size(), "size is incorrect after concurrent appends");
+        boolean[] seen = new boolean[THREADS * PER_THREAD];
+        for(Integer item : list) {
+            assertFalse(seen[item], "element was added twice: " + item);
+            seen[item] = true;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import structures.array_lists.MyCopyOnWriteArrayList;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test file confirms functionality of the copy-on-write array list
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class CopyOnWriteArrayListTests {
+
+    private MyCopyOnWriteArrayList<Integer> list;
+
+    @BeforeEach
+    public void create() {
+        list = new MyCopyOnWriteArrayList<>();
+        for(int i = 1; i <= 10; i++) {
+            list.add(i);
+        }
+    }
+
+    @Test
+    public void testWrites() {
+        list.add(0, 0);
+        assertEquals(0, list.get(0), "element added was not at the appropriate index");
+        assertEquals(11, list.size(), "size is incorrect after add(index, element)");
+
+        assertEquals(5, list.set(5, 50), "set() did not return the old element");
+        assertEquals(0, list.remove(0), "wrong element returned from remove(int)");
+        assertTrue(list.remove((Integer) 50), "element 50 was not removed");
+        assertFalse(list.contains(50), "element 50 still found after removal");
+        assertEquals(9, list.size(), "size is incorrect after removing elements");
+
+        try {
+            list.add(null);
+            fail("Null pointer exception was not thrown when adding in null values");
+        } catch (NullPointerException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testIteratorIsSnapshot() {
+        Iterator<Integer> iterator = list.iterator();
+
+        //changes after the iterator was made should not show up in it
+        list.clear();
+        list.add(99);
+
+        int counter = 1;
+        while(iterator.hasNext()) {
+            assertEquals(counter, iterator.next(), "snapshot iterator saw a later change");
+            counter++;
+        }
+        assertEquals(11, counter, "snapshot iterator did not visit every element");
+
+        try {
+            list.iterator().remove();
+            fail("exception not thrown when removing through a snapshot iterator");
+        } catch (UnsupportedOperationException | IllegalStateException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testMutate() {
+        List<Integer> before = new ArrayList<>(list);
+
+        list.mutate(copy -> {
+            copy.removeIf(item -> item % 2 == 0);
+            copy.add(100);
+        });
+
+        assertEquals(Arrays.asList(1, 3, 5, 7, 9, 100), new ArrayList<>(list), "mutate() did not apply every change");
+        assertEquals(10, before.size(), "mutate() changed an earlier copy of the list");
+    }
+
+    @Test
+    public void testBulkWrites() {
+        assertTrue(list.addAll(Arrays.asList(11, 12)), "addAll() did not report a change");
+        assertTrue(list.addAll(0, Arrays.asList(-1, 0)), "addAll(index) did not report a change");
+        assertEquals(Arrays.asList(-1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12), new ArrayList<>(list),
+                "addAll() put the elements in the wrong place");
+        assertFalse(list.addAll(Collections.emptyList()), "adding nothing reported a change");
+
+        assertTrue(list.removeIf(item -> item < 1), "removeIf() did not report a change");
+        assertTrue(list.removeAll(Arrays.asList(11, 12, 100)), "removeAll() did not report a change");
+        assertFalse(list.removeAll(Arrays.asList(100)), "removeAll() reported a change that did not happen");
+        assertTrue(list.retainAll(Arrays.asList(2, 4, 6, 8, 10, 12)), "retainAll() did not report a change");
+        assertEquals(Arrays.asList(2, 4, 6, 8, 10), new ArrayList<>(list), "wrong elements after bulk removes");
+
+        list.subList(1, 3).clear();
+        assertEquals(Arrays.asList(2, 8, 10), new ArrayList<>(list), "subList().clear() removed the wrong range");
+        list.clear();
+        assertTrue(list.isEmpty(), "clear() did not empty the list");
+
+        try {
+            list.addAll(Arrays.asList(1, null));
+            fail("Null pointer exception was not thrown when adding in null values");
+        } catch (NullPointerException exception) {
+            //good
+        }
+        assertTrue(list.isEmpty(), "a rejected addAll() changed the list");
+    }
+
+    @Test
+    public void testReadersSeeWholeBatches() throws InterruptedException {
+        //every batch adds or removes a pair, so a reader can tell if it sees half of one
+        list.clear();
+        Thread writer = new Thread(() -> {
+            for(int i = 0; i < 1000; i++) {
+                final int value = i;
+                list.addAll(Arrays.asList(value, value));
+                list.removeIf(item -> item == value);
+            }
+        });
+        writer.start();
+
+        while(writer.isAlive()) {
+            assertEquals(0, list.size() % 2, "reader saw half of a bulk write");
+        }
+        writer.join();
+    }
+
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        Thread writer = new Thread(() -> {
+            for(int i = 0; i < 1000; i++) {
+                list.add(i);
+                list.remove(0);
+            }
+        });
+        writer.start();
+
+        //readers should never see a half written list
+        while(writer.isAlive()) {
+            for(Integer item : list) {
+                assertNotNull(item, "reader saw a null element while a writer was running");
+            }
+        }
+        writer.join();
+        assertEquals(10, list.size(), "size is incorrect after concurrent writes");
+    }
+}
@@ -1,8 +1,153 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import structures.array_lists.IRecordCodec;
+import structures.array_lists.MyArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
+ * This test file confirms that structures can be saved to and loaded from files
  *
  * @author Chauncey Brown-Castro
  * @version 1.0
  */
 public class FileIOTests {
 
+    @TempDir
+    public Path folder;
+
+    //stores an Integer in a 4 byte record
+    private static final IRecordCodec<Integer> INT_CODEC = new IRecordCodec<Integer>() {
+        @Override
+        public int recordSize() {
+            return 4;
+        }
+
+        @Override
+        public void encode(Integer element, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, element);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    //stores a Long in an 8 byte record
+    private static final IRecordCodec<Long> LONG_CODEC = new IRecordCodec<Long>() {
+        @Override
+        public int recordSize() {
+            return 8;
+        }
+
+        @Override
+        public void encode(Long element, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, element);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for(int i = 0; i < 10_000; i++) {
+            list.add(i * 3);
+        }
+
+        Path file = folder.resolve("list.bin");
+        list.save(file, INT_CODEC);
+
+        //header plus one 4 byte record per element
+        assertEquals(16 + 4 * 10_000, Files.size(file), "saved file is not the expected length");
+
+        MyArrayList<Integer> loaded = MyArrayList.load(file, INT_CODEC);
+        assertEquals(10_000, loaded.size(), "loaded list does not have every element");
+        assertEquals(10_000, loaded.capacity(), "loaded list was not pre-sized to the element count");
+        for(int i = 0; i < 10_000; i++) {
+            assertEquals(i * 3, loaded.get(i), "element was not loaded back at the same index");
+        }
+    }
+
+    @Test
+    public void testSaveAndLoadEmpty() throws IOException {
+        Path file = folder.resolve("empty.bin");
+        new MyArrayList<Integer>().save(file, INT_CODEC);
+
+        MyArrayList<Integer> loaded = MyArrayList.load(file, INT_CODEC);
+        assertTrue(loaded.isEmpty(), "loaded list should be empty");
+    }
+
+    @Test
+    public void testLoadRejectsBadFiles() throws IOException {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.add(1);
+        Path file = folder.resolve("list.bin");
+        list.save(file, INT_CODEC);
+
+        try {
+            MyArrayList.load(file, LONG_CODEC);
+            fail("exception not thrown when loading with a codec of a different record size");
+        } catch (IOException exception) {
+            //good
+        }
+
+        Path garbage = folder.resolve("garbage.bin");
+        Files.write(garbage, new byte[] {1, 2, 3});
+        try {
+            MyArrayList.load(garbage, INT_CODEC);
+            fail("exception not thrown when loading a file that is not a saved list");
+        } catch (IOException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testRejectsBadRecordSizes() throws IOException {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.add(1);
+        Path file = folder.resolve("list.bin");
+        list.save(file, INT_CODEC);
+
+        for(int size : new int[] {0, -4}) {
+            IRecordCodec<Integer> broken = new IRecordCodec<Integer>() {
+                @Override
+                public int recordSize() {
+                    return size;
+                }
+
+                @Override
+                public void encode(Integer element, ByteBuffer buffer, int offset) {
+                    INT_CODEC.encode(element, buffer, offset);
+                }
+
+                @Override
+                public Integer decode(ByteBuffer buffer, int offset) {
+                    return INT_CODEC.decode(buffer, offset);
+                }
+            };
+
+            try {
+                list.save(folder.resolve("broken.bin"), broken);
+                fail("Illegal argument exception was not thrown when saving with a record size of " + size);
+            } catch (IllegalArgumentException exception) {
+                //good
+            }
+            try {
+                MyArrayList.load(file, broken);
+                fail("Illegal argument exception was not thrown when loading with a record size of " + size);
+            } catch (IllegalArgumentException exception) {
+                //good
+            }
+        }
+    }
 }
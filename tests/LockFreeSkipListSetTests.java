@@ -0,0 +1,138 @@
+import org.junit.jupiter.api.Test;
+import structures.trees.LockFreeSkipListSet;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test file confirms functionality of the lock-free skip list set
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class LockFreeSkipListSetTests {
+
+    @Test
+    public void testAddContainsRemove() {
+        LockFreeSkipListSet<Integer> set = new LockFreeSkipListSet<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(25);
+        for(int i = 0; i < 5000; i++) {
+            int value = random.nextInt(1000);
+            if(random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value), "remove() is wrong for " + value);
+            } else {
+                assertEquals(expected.add(value), set.add(value), "add() is wrong for " + value);
+            }
+        }
+
+        assertEquals(expected.size(), set.size(), "wrong size");
+        for(int value = 0; value < 1000; value++) {
+            assertEquals(expected.contains(value), set.contains(value), "contains() is wrong for " + value);
+        }
+        List<Integer> inOrder = new ArrayList<>();
+        set.forEach(inOrder::add);
+        assertEquals(new ArrayList<>(expected), inOrder, "the iterator did not go in order");
+
+        try {
+            set.add(null);
+            fail("Null pointer exception was not thrown when adding in null values");
+        } catch (NullPointerException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testRangeIterator() {
+        LockFreeSkipListSet<Integer> set = new LockFreeSkipListSet<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for(int i = 0; i < 1000; i += 3) {
+            set.add(i);
+            expected.add(i);
+        }
+
+        List<Integer> window = new ArrayList<>();
+        set.rangeIterator(99, false, 300, true).forEachRemaining(window::add);
+        assertEquals(new ArrayList<>(expected.subSet(99, false, 300, true)), window, "the range has the wrong elements");
+
+        //removing through the iterator takes the element out of the set
+        Iterator<Integer> iterator = set.rangeIterator(null, false, 10, false);
+        while(iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        assertFalse(set.contains(9), "the iterator did not remove the element");
+        assertTrue(set.contains(12), "the iterator removed past its upper bound");
+    }
+
+    @Test
+    public void testConcurrentWritersAndReaders() throws InterruptedException {
+        final int WRITERS = 8;
+        final int PER_WRITER = 10_000;
+        LockFreeSkipListSet<Integer> set = new LockFreeSkipListSet<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+
+        //each writer adds its own range, then removes the odd numbers from it
+        List<Thread> writers = new ArrayList<>();
+        for(int t = 0; t < WRITERS; t++) {
+            final int base = t * PER_WRITER;
+            Thread thread = new Thread(() -> {
+                for(int i = 0; i < PER_WRITER; i++) {
+                    set.add(base + i);
+                }
+                for(int i = 1; i < PER_WRITER; i += 2) {
+                    if(!set.remove(base + i)) {
+                        failed.set(true);
+                    }
+                }
+            });
+            writers.add(thread);
+        }
+
+        //readers scan ranges the whole time, and should always see them in order
+        List<Thread> readers = new ArrayList<>();
+        for(int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                while(!done.get()) {
+                    int previous = -1;
+                    Iterator<Integer> iterator = set.rangeIterator(1000, true, 50_000, false);
+                    while(iterator.hasNext()) {
+                        int value = iterator.next();
+                        if(value <= previous || value < 1000 || value >= 50_000) {
+                            failed.set(true);
+                        }
+                        previous = value;
+                    }
+                }
+            });
+            readers.add(thread);
+            thread.start();
+        }
+
+        for(Thread thread : writers) {
+            thread.start();
+        }
+        for(Thread thread : writers) {
+            thread.join();
+        }
+        done.set(true);
+        for(Thread thread : readers) {
+            thread.join();
+        }
+
+        assertFalse(failed.get(), "a remove failed or a reader saw elements out of order or out of range");
+        assertEquals(WRITERS * PER_WRITER / 2, set.size(), "wrong size after the writers finished");
+        int expected = 0;
+        for(int value : set) {
+            assertEquals(expected, value, "wrong element after the writers finished");
+            expected += 2;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import structures.array_lists.IRecordCodec;
+import structures.array_lists.OffHeapArrayList;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test file confirms functionality of the off-heap array list
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class OffHeapArrayListTests {
+
+    private OffHeapArrayList<long[]> list;
+
+    //stores a pair of longs in a 16 byte record
+    private static final IRecordCodec<long[]> PAIR_CODEC = new IRecordCodec<long[]>() {
+        @Override
+        public int recordSize() {
+            return 16;
+        }
+
+        @Override
+        public void encode(long[] element, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, element[0]);
+            buffer.putLong(offset + 8, element[1]);
+        }
+
+        @Override
+        public long[] decode(ByteBuffer buffer, int offset) {
+            return new long[] {buffer.getLong(offset), buffer.getLong(offset + 8)};
+        }
+    };
+
+    @BeforeEach
+    public void create() {
+        list = new OffHeapArrayList<>(PAIR_CODEC, 2);
+    }
+
+    @AfterEach
+    public void destroy() {
+        list.close();
+    }
+
+    @Test
+    public void testAddAndGet() {
+        for(long i = 0; i < 100; i++) {
+            list.add(new long[] {i, -i});
+        }
+
+        assertEquals(100, list.size(), "added 100 records but size is not 100");
+        assertTrue(list.capacity() >= 100, "capacity did not grow with the list");
+        for(int i = 0; i < 100; i++) {
+            assertArrayEquals(new long[] {i, -i}, list.get(i), "record was not read back correctly");
+        }
+
+        try {
+            list.add(null);
+            fail("Null pointer exception was not thrown when adding in null values");
+        } catch (NullPointerException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testInsertRemoveAndSet() {
+        for(long i = 0; i < 10; i++) {
+            list.add(new long[] {i, i});
+        }
+
+        list.add(3, new long[] {42, 42});
+        assertArrayEquals(new long[] {42, 42}, list.get(3), "record added was not at the appropriate index");
+        assertArrayEquals(new long[] {3, 3}, list.get(4), "records were not shifted up after add(index)");
+
+        assertArrayEquals(new long[] {42, 42}, list.remove(3), "wrong record returned from remove(int)");
+        assertArrayEquals(new long[] {3, 3}, list.get(3), "records were not shifted down after remove(int)");
+
+        assertArrayEquals(new long[] {0, 0}, list.set(0, new long[] {7, 8}), "set() did not return the old record");
+        assertArrayEquals(new long[] {7, 8}, list.get(0), "record was not replaced by set()");
+        assertEquals(10, list.size(), "size is incorrect after inserting and removing");
+    }
+
+    @Test
+    public void testLongShifts() {
+        //shifting thousands of records inside one page copies more than one chunk each way
+        for(long i = 0; i < 3000; i++) {
+            list.add(new long[] {i, i * 2});
+        }
+        list.add(0, new long[] {-1, -1});
+        list.add(1500, new long[] {-2, -2});
+        assertArrayEquals(new long[] {-1, -1}, list.get(0), "record added at the front was not there");
+        assertArrayEquals(new long[] {-2, -2}, list.get(1500), "record added in the middle was not there");
+        assertArrayEquals(new long[] {0, 0}, list.get(1), "long shift up lost the first record");
+        assertArrayEquals(new long[] {2999, 5998}, list.get(3001), "long shift up lost the last record");
+
+        list.remove(1500);
+        list.remove(0);
+        for(int i = 0; i < 3000; i++) {
+            assertArrayEquals(new long[] {i, i * 2}, list.get(i), "long shifts corrupted record " + i);
+        }
+    }
+
+    @Test
+    public void testClose() {
+        list.add(new long[] {1, 2});
+        list.close();
+
+        assertTrue(list.isClosed(), "list does not report being closed");
+        try {
+            list.get(0);
+            fail("exception not thrown when using a closed list");
+        } catch (IllegalStateException exception) {
+            //good
+        }
+
+        //closing twice is harmless
+        list.close();
+    }
+}
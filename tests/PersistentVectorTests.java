@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.Test;
+import structures.array_lists.MyArrayList;
+import structures.array_lists.PersistentVector;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test file confirms functionality of the persistent vector
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class PersistentVectorTests {
+
+    @Test
+    public void testAppendAndGet() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+
+        //enough elements for a few levels of the trie
+        for(int i = 0; i < 5000; i++) {
+            vector = vector.append(i);
+        }
+
+        assertEquals(5000, vector.size(), "appended 5000 elements but size is not 5000");
+        for(int i = 0; i < 5000; i++) {
+            assertEquals(i, vector.get(i), "element not found at the index it was appended to");
+        }
+
+        int counter = 0;
+        for(Integer item : vector) {
+            assertEquals(counter, item, "iterator did not return elements in order");
+            counter++;
+        }
+        assertEquals(5000, counter, "iterator did not visit every element");
+    }
+
+    @Test
+    public void testOldVersionsDoNotChange() {
+        PersistentVector<Integer> original = PersistentVector.empty();
+        for(int i = 0; i < 100; i++) {
+            original = original.append(i);
+        }
+
+        PersistentVector<Integer> changed = original.set(5, 500).set(99, 990).pop().append(7);
+
+        assertEquals(5, original.get(5), "set() changed the original vector");
+        assertEquals(99, original.get(99), "set() changed the original vector's tail");
+        assertEquals(100, original.size(), "pop() changed the size of the original vector");
+
+        assertEquals(500, changed.get(5), "set() did not change the new version");
+        assertEquals(98, changed.get(98), "pop() removed the wrong element");
+        assertEquals(7, changed.get(99), "append() did not add to the end of the new version");
+    }
+
+    @Test
+    public void testPop() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for(int i = 0; i < 1100; i++) {
+            vector = vector.append(i);
+        }
+
+        //popping back across the tail and trie levels
+        for(int i = 1099; i >= 0; i--) {
+            assertEquals(i, vector.get(vector.size() - 1), "last element is incorrect while popping");
+            vector = vector.pop();
+        }
+        assertTrue(vector.isEmpty(), "vector is not empty after popping every element");
+
+        try {
+            vector.pop();
+            fail("exception not thrown when popping from an empty vector");
+        } catch (NoSuchElementException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testBuilder() {
+        PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+        Integer[] batch = new Integer[100];
+        for(int i = 0; i < batch.length; i++) {
+            batch[i] = i;
+        }
+        for(int i = 0; i < 10; i++) {
+            builder.addAll(batch, 0, batch.length);
+        }
+        builder.add(-1);
+        PersistentVector<Integer> vector = builder.build();
+
+        assertEquals(1001, vector.size(), "builder did not add every element");
+        assertEquals(57, vector.get(957), "builder put an element in the wrong place");
+        assertEquals(-1, vector.get(1000), "builder lost the last element");
+
+        try {
+            builder.add(1);
+            fail("exception not thrown when using a builder after build()");
+        } catch (IllegalStateException exception) {
+            //good
+        }
+
+        //a builder made from a vector should leave that vector alone
+        PersistentVector<Integer> bigger = vector.toBuilder().add(5).build();
+        assertEquals(1001, vector.size(), "toBuilder() changed the original vector");
+        assertEquals(1002, bigger.size(), "toBuilder() did not add to the new vector");
+    }
+
+    @Test
+    public void testSnapshot() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for(int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        PersistentVector<Integer> snapshot = list.snapshot();
+        list.set(0, 42);
+        list.remove(999);
+
+        assertEquals(1000, snapshot.size(), "snapshot changed when the list changed");
+        assertEquals(0, snapshot.get(0), "snapshot changed when the list changed");
+        assertEquals(999, snapshot.get(999), "snapshot lost its last element");
+    }
+}
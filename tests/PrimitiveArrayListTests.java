@@ -0,0 +1,168 @@
+import org.junit.jupiter.api.Test;
+import structures.array_lists.DoubleArrayList;
+import structures.array_lists.IntArrayList;
+import structures.array_lists.LongArrayList;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test file confirms functionality of the primitive array list classes
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class PrimitiveArrayListTests {
+
+    @Test
+    public void testIntAddGetSet() {
+        IntArrayList list = new IntArrayList(2);
+        for(int i = 1; i <= 19; i++) {
+            list.add(i);
+        }
+
+        assertEquals(19, list.size(), "added 19 values but size is not 19");
+        assertEquals(1, list.get(0), "1 was added at index 0, 1 was not found");
+        assertEquals(1, list.set(0, 50), "set value 1 at index 0 to 50, value 1 was not returned");
+        assertEquals(50, list.get(0), "value was not replaced by set()");
+
+        list.add(3, 20);
+        assertEquals(20, list.get(3), "value added was not at the appropriate index");
+        assertEquals(4, list.get(4), "values were not shifted up after add(index, value)");
+
+        try {
+            list.get(list.size());
+            fail("Index out of bounds exception not thrown when given a index too large");
+        } catch (IndexOutOfBoundsException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testIntSearchAndRemove() {
+        IntArrayList list = new IntArrayList();
+        for(int i = 0; i < 30; i++) {
+            list.add(i % 10);
+        }
+
+        assertTrue(list.contains(7), "value 7 was added but not found");
+        assertFalse(list.contains(70), "value 70 was never added but was found");
+        assertEquals(3, list.indexOf(3), "indexOf() did not return the first occurrence");
+        assertEquals(23, list.lastIndexOf(3), "lastIndexOf() did not return the last occurrence");
+
+        assertEquals(0, list.removeAt(0), "wrong value returned from removeAt()");
+        assertTrue(list.removeValue(9), "value 9 was not removed");
+        assertEquals(28, list.size(), "size is incorrect after removing values");
+        assertEquals(17, list.indexOf(9), "removeValue() did not remove the first occurrence");
+    }
+
+    @Test
+    public void testIntSortIteratorAndToArray() {
+        IntArrayList list = new IntArrayList();
+        int[] values = {5, -3, 9, 0, 2};
+        for(int value : values) {
+            list.add(value);
+        }
+        list.sort();
+
+        assertArrayEquals(new int[] {-3, 0, 2, 5, 9}, list.toArray(), "values were not sorted");
+
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        int counter = 0;
+        while(iterator.hasNext()) {
+            assertEquals(list.get(counter), iterator.nextInt(), "iterator did not return values in order");
+            counter++;
+        }
+        assertEquals(list.size(), counter, "iterator did not visit every value");
+
+        try {
+            iterator.nextInt();
+            fail("exception not thrown when iterating past the end");
+        } catch (NoSuchElementException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testLongList() {
+        LongArrayList list = new LongArrayList();
+        for(long i = 0; i < 25; i++) {
+            list.add(i * 10_000_000_000L);
+        }
+
+        assertEquals(25, list.size(), "added 25 values but size is not 25");
+        assertEquals(3, list.indexOf(30_000_000_000L), "value not found at the expected index");
+        assertEquals(0L, list.removeAt(0), "wrong value returned from removeAt()");
+        assertEquals(10_000_000_000L, list.get(0), "values were not shifted down after removeAt()");
+        assertEquals(24, list.toArray().length, "toArray() did not return every value");
+    }
+
+    @Test
+    public void testDoubleList() {
+        DoubleArrayList list = new DoubleArrayList();
+        list.add(2.5);
+        list.add(Double.NaN);
+        list.add(-1.0);
+        list.add(0.0);
+
+        //NaN and signed zeros follow Double.equals()
+        assertEquals(1, list.indexOf(Double.NaN), "NaN should be found like Double.equals()");
+        assertFalse(list.contains(-0.0), "-0.0 should not match 0.0 like Double.equals()");
+
+        list.sort();
+        assertArrayEquals(new double[] {-1.0, 0.0, 2.5, Double.NaN}, list.toArray(),
+                "values were not sorted");
+    }
+
+    @Test
+    public void testScansAndAggregates() {
+        IntArrayList ints = new IntArrayList();
+        LongArrayList longs = new LongArrayList();
+        DoubleArrayList doubles = new DoubleArrayList();
+        for (int i = 0; i < 1000; i++) {
+            ints.add(i % 100 - 50);
+            longs.add((i % 100 - 50) * 1_000_000_000L);
+            doubles.add((i % 100 - 50) / 4.0);
+        }
+
+        //lengths that are not a multiple of the block size still reach the tail
+        ints.add(777);
+        longs.add(777L);
+        doubles.add(777.0);
+        assertEquals(1000, ints.indexOf(777), "value in the tail was not found");
+        assertEquals(1000, longs.indexOf(777L), "value in the tail was not found");
+        assertEquals(1000, doubles.indexOf(777.0), "value in the tail was not found");
+        assertEquals(57, ints.indexOf(7), "value inside a block was not found");
+        assertEquals(-1, ints.indexOf(50), "found a value that is not in the list");
+
+        assertEquals(10, ints.count(0), "wrong count of a value");
+        assertEquals(10, longs.count(0L), "wrong count of a value");
+        assertEquals(210, ints.countBetween(-10, 10), "wrong count of a range");
+        assertEquals(210, doubles.countBetween(-2.5, 2.5), "wrong count of a range");
+
+        assertEquals(-500 + 777, ints.sum(), "wrong sum");
+        assertEquals(-500_000_000_000L + 777, longs.sum(), "wrong sum");
+        assertEquals(-125.0 + 777.0, doubles.sum(), 1e-9, "wrong sum");
+        assertEquals(-50, ints.min(), "wrong minimum");
+        assertEquals(777, ints.max(), "wrong maximum");
+        assertEquals(-50_000_000_000L, longs.min(), "wrong minimum");
+        assertEquals(-12.5, doubles.min(), "wrong minimum");
+
+        //-0.0 passes the quick == check against 0.0 but is not the same value
+        DoubleArrayList zeros = new DoubleArrayList();
+        for (int i = 0; i < 16; i++) {
+            zeros.add(-0.0);
+        }
+        zeros.add(0.0);
+        assertEquals(16, zeros.indexOf(0.0), "-0.0 should not match 0.0 like Double.equals()");
+
+        try {
+            new IntArrayList().min();
+            fail("No such element exception was not thrown for an empty list");
+        } catch (NoSuchElementException exception) {
+            //good
+        }
+    }
+}
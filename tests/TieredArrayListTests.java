@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import structures.array_lists.TieredArrayList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test file confirms functionality of the tiered vector list
+ *
+ * @author Chauncey Brown-Castro
+ * @version 1.0
+ */
+public class TieredArrayListTests {
+
+    private List<Integer> myList;
+
+    @BeforeEach
+    public void create() {
+        myList = new TieredArrayList<>();
+    }
+
+    @Test
+    public void testAddAndGet() {
+        for(int i = 0; i < 100; i++) {
+            myList.add(i);
+        }
+
+        assertEquals(100, myList.size(), "added 100 elements but size is not 100");
+        for(int i = 0; i < 100; i++) {
+            assertEquals(i, myList.get(i), "element not found at the index it was added to");
+        }
+
+        try {
+            myList.add(null);
+            fail("Null pointer exception was not thrown when adding in null values");
+        } catch (NullPointerException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testMiddleInsertAndRemove() {
+        for(int i = 0; i < 40; i++) {
+            myList.add(i);
+        }
+
+        myList.add(20, 100);
+        assertEquals(100, myList.get(20), "element added was not at the appropriate index");
+        assertEquals(20, myList.get(21), "elements were not shifted up after add(index, element)");
+        assertEquals(39, myList.get(40), "last element was lost while carrying across blocks");
+
+        assertEquals(100, myList.remove(20), "wrong element returned from remove(int)");
+        for(int i = 0; i < 40; i++) {
+            assertEquals(i, myList.get(i), "elements were not shifted back after remove(int)");
+        }
+    }
+
+    @Test
+    public void testMatchesArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        //mix inserts, removals and replacements at random positions, enough to resize the blocks
+        for(int i = 0; i < 20_000; i++) {
+            int choice = random.nextInt(10);
+            if(choice < 6 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                myList.add(index, i);
+            } else if(choice < 9) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), myList.remove(index), "remove(int) returned the wrong element");
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -i), myList.set(index, -i), "set() returned the wrong element");
+            }
+        }
+
+        assertEquals(expected, myList, "list does not match an ArrayList after random changes");
+
+        myList.clear();
+        assertTrue(myList.isEmpty(), "list is not empty after clear");
+    }
+}
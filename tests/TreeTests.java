@@ -1,8 +1,337 @@
+import org.junit.jupiter.api.Test;
+import structures.trees.BinarySearchTree;
+import structures.trees.FrozenSearchTree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
+ * This test file confirms functionality of the binary search tree
  *
  * @author Chauncey Brown-Castro
  * @version 1.0
  */
 public class TreeTests {
 
+    @Test
+    public void testAddContainsRemove() {
+        for(boolean balanced : new boolean[] {false, true}) {
+            BinarySearchTree<Integer> tree = new BinarySearchTree<>(balanced);
+            Random random = new Random(19);
+            TreeSet<Integer> expected = new TreeSet<>();
+            for(int i = 0; i < 2000; i++) {
+                int value = random.nextInt(1000);
+                if(random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(value), tree.remove(value),
+                            "remove() should only return true when the element was in the tree");
+                } else {
+                    expected.add(value);
+                    tree.add(value);
+                }
+                assertEquals(expected.size(), tree.size(), "size is wrong after a change");
+            }
+
+            for(int value = 0; value < 1000; value++) {
+                assertEquals(expected.contains(value), tree.contains(value), "contains() is wrong for " + value);
+            }
+            List<Integer> inOrder = new ArrayList<>();
+            tree.forEach(inOrder::add);
+            assertEquals(new ArrayList<>(expected), inOrder, "the iterator did not go in order");
+        }
+    }
+
+    @Test
+    public void testBalancedHeight() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<>(true);
+        assertTrue(tree.isBalanced(), "tree was not made balanced");
+
+        //sorted input is the worst case for a plain tree
+        for(int i = 0; i < 4095; i++) {
+            tree.add(i);
+        }
+        assertEquals(12, tree.height(), "sorted input did not make a perfectly balanced tree");
+
+        //removing most of one side has to rotate the tree back into balance
+        for(int i = 0; i < 3000; i++) {
+            assertTrue(tree.remove(i), "could not remove " + i);
+        }
+        int limit = (int) Math.ceil(1.45 * Math.log(tree.size() + 2) / Math.log(2));
+        assertTrue(tree.height() <= limit, "tree is taller than an AVL tree can be: " + tree.height());
+        assertFalse(tree.remove(0), "removed an element that was not in the tree");
+    }
+
+    @Test
+    public void testDegenerateTreeDoesNotOverflow() {
+        //a plain tree fed sorted input is one long chain, far deeper than the call stack
+        BinarySearchTree<Integer> tree = new BinarySearchTree<>();
+        for(int i = 0; i < 20_000; i++) {
+            tree.add(i);
+        }
+        assertEquals(20_000, tree.height(), "sorted input should make a chain in a plain tree");
+        assertTrue(tree.contains(19_999), "could not find the deepest element");
+        assertFalse(tree.contains(20_000), "found an element that was never added");
+
+        for(int i = 19_999; i >= 10_000; i--) {
+            assertTrue(tree.remove(i), "could not remove " + i);
+        }
+        assertEquals(10_000, tree.size(), "size is wrong after removing half the chain");
+    }
+
+    @Test
+    public void testOrderStatistics() {
+        for(boolean balanced : new boolean[] {false, true}) {
+            BinarySearchTree<Integer> tree = new BinarySearchTree<>(balanced);
+            TreeSet<Integer> expected = new TreeSet<>();
+            Random random = new Random(21);
+            for(int i = 0; i < 3000; i++) {
+                int value = random.nextInt(2000);
+                if(random.nextInt(4) == 0) {
+                    expected.remove(value);
+                    tree.remove(value);
+                } else {
+                    expected.add(value);
+                    tree.add(value);
+                }
+            }
+
+            List<Integer> sorted = new ArrayList<>(expected);
+            assertEquals(sorted, tree.toList(), "toList() is not in order");
+            for(int k = 0; k < sorted.size(); k++) {
+                assertEquals(sorted.get(k), tree.select(k), "select() is wrong for " + k);
+            }
+            for(int value = -1; value <= 2000; value += 7) {
+                assertEquals(expected.headSet(value).size(), tree.rank(value), "rank() is wrong for " + value);
+                assertEquals(expected.subSet(value, true, value + 100, true).size(),
+                        tree.countInRange(value, value + 100), "countInRange() is wrong from " + value);
+            }
+
+            assertEquals(sorted.get(0), tree.percentile(0), "0th percentile is not the minimum");
+            assertEquals(sorted.get(sorted.size() - 1), tree.percentile(100), "100th percentile is not the maximum");
+            assertEquals(sorted.get((int) Math.ceil(0.99 * sorted.size()) - 1), tree.percentile(99),
+                    "wrong 99th percentile");
+            assertEquals(0, tree.countInRange(10, 5), "a backwards range should be empty");
+        }
+    }
+
+    @Test
+    public void testNavigation() {
+        for(boolean balanced : new boolean[] {false, true}) {
+            BinarySearchTree<Integer> tree = new BinarySearchTree<>(balanced);
+            TreeSet<Integer> expected = new TreeSet<>();
+            Random random = new Random(22);
+            for(int i = 0; i < 500; i++) {
+                int value = random.nextInt(1000) * 2; //even numbers only, so odd ones fall in the gaps
+                tree.add(value);
+                expected.add(value);
+            }
+
+            for(int value = -3; value <= 2003; value++) {
+                assertEquals(expected.floor(value), tree.floor(value), "floor() is wrong for " + value);
+                assertEquals(expected.lower(value), tree.lower(value), "lower() is wrong for " + value);
+                assertEquals(expected.ceiling(value), tree.ceiling(value), "ceiling() is wrong for " + value);
+                assertEquals(expected.higher(value), tree.higher(value), "higher() is wrong for " + value);
+            }
+
+            assertEquals(expected.first(), tree.first(), "wrong first element");
+            assertEquals(expected.last(), tree.last(), "wrong last element");
+            assertEquals(expected.pollFirst(), tree.pollFirst(), "pollFirst() returned the wrong element");
+            assertEquals(expected.pollLast(), tree.pollLast(), "pollLast() returned the wrong element");
+            assertEquals(expected.size(), tree.size(), "polling did not remove the element");
+        }
+
+        BinarySearchTree<Integer> empty = new BinarySearchTree<>();
+        assertNull(empty.pollFirst(), "polling an empty tree should return null");
+        assertNull(empty.floor(5), "an empty tree has no floor");
+        try {
+            empty.first();
+            fail("No such element exception was not thrown for an empty tree");
+        } catch (NoSuchElementException exception) {
+            //good
+        }
+    }
+
+    @Test
+    public void testRangeViews() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<>(true);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for(int i = 0; i < 1000; i += 3) {
+            tree.add(i);
+            expected.add(i);
+        }
+
+        SortedSet<Integer> window = tree.subSet(100, true, 200, false);
+        NavigableSet<Integer> expectedWindow = expected.subSet(100, true, 200, false);
+        assertEquals(new ArrayList<>(expectedWindow), new ArrayList<>(window), "the window has the wrong elements");
+        assertEquals(expectedWindow.size(), window.size(), "the window has the wrong size");
+        assertEquals(expectedWindow.first(), window.first(), "wrong first element in the window");
+        assertEquals(expectedWindow.last(), window.last(), "wrong last element in the window");
+        assertTrue(window.contains(102), "the window is missing an element");
+        assertFalse(window.contains(300), "the window has an element outside of it");
+
+        assertEquals(new ArrayList<>(expected.headSet(30, true)), new ArrayList<>(tree.headSet(30, true)),
+                "the head set has the wrong elements");
+        assertEquals(new ArrayList<>(expected.tailSet(990, false)), new ArrayList<>(tree.tailSet(990, false)),
+                "the tail set has the wrong elements");
+        assertEquals(new ArrayList<>(expectedWindow.headSet(150)), new ArrayList<>(window.headSet(150)),
+                "a view of a view has the wrong elements");
+
+        //the views are live in both directions
+        tree.add(101);
+        assertTrue(window.contains(101), "the view did not see an element added to the tree");
+        window.remove(102);
+        assertFalse(tree.contains(102), "removing through the view did not change the tree");
+        try {
+            window.add(500);
+            fail("Illegal argument exception was not thrown for an element outside the view");
+        } catch (IllegalArgumentException exception) {
+            //good
+        }
+
+        //a view of a view has to stay inside it, the bound it shares is the only edge case
+        assertEquals(new ArrayList<>(expectedWindow.tailSet(150)), new ArrayList<>(window.tailSet(150)),
+                "a tail view of a view has the wrong elements");
+        try {
+            window.headSet(300);
+            fail("Illegal argument exception was not thrown for a sub-view past the upper bound");
+        } catch (IllegalArgumentException exception) {
+            //good
+        }
+        try {
+            window.subSet(50, 150);
+            fail("Illegal argument exception was not thrown for a sub-view below the lower bound");
+        } catch (IllegalArgumentException exception) {
+            //good
+        }
+        assertEquals(new ArrayList<>(window), new ArrayList<>(window.headSet(200)),
+                "a sub-view up to the view's own exclusive bound has the wrong elements");
+    }
+
+    @Test
+    public void testRemovingThroughIterators() {
+        for(boolean balanced : new boolean[] {false, true}) {
+            BinarySearchTree<Integer> tree = new BinarySearchTree<>(balanced);
+            TreeSet<Integer> expected = new TreeSet<>();
+            Random random = new Random(22);
+            for(int i = 0; i < 1000; i++) {
+                int value = random.nextInt(2000);
+                tree.add(value);
+                expected.add(value);
+            }
+
+            //remove every third element while walking the whole tree
+            Iterator<Integer> iterator = tree.iterator();
+            Iterator<Integer> expectedIterator = expected.iterator();
+            int counter = 0;
+            while(iterator.hasNext()) {
+                assertEquals(expectedIterator.next(), iterator.next(), "iterator lost its place after a remove");
+                if(counter % 3 == 0) {
+                    iterator.remove();
+                    expectedIterator.remove();
+                }
+                counter++;
+            }
+            assertFalse(expectedIterator.hasNext(), "iterator stopped early after removing elements");
+            assertEquals(new ArrayList<>(expected), tree.toList(), "iterator removed the wrong elements");
+            try {
+                iterator.remove();
+                iterator.remove();
+                fail("Illegal state exception was not thrown when removing twice in a row");
+            } catch (IllegalStateException exception) {
+                //good
+            }
+
+            //bulk changes through a view only touch the elements inside it
+            SortedSet<Integer> window = tree.subSet(500, true, 1500, false);
+            NavigableSet<Integer> expectedWindow = expected.subSet(500, true, 1500, false);
+            window.removeIf(item -> item % 2 == 0);
+            expectedWindow.removeIf(item -> item % 2 == 0);
+            assertEquals(new ArrayList<>(expected), tree.toList(), "removeIf() through a view was wrong");
+            window.retainAll(List.of(501, 503, 505));
+            expectedWindow.retainAll(List.of(501, 503, 505));
+            assertEquals(new ArrayList<>(expected), tree.toList(), "retainAll() through a view was wrong");
+
+            tree.headSet(1000, false).clear();
+            expected.headSet(1000, false).clear();
+            assertEquals(new ArrayList<>(expected), tree.toList(), "clear() through a view was wrong");
+            assertEquals(expected.size(), tree.size(), "size is wrong after clearing a view");
+        }
+    }
+
+    @Test
+    public void testFreeze() {
+        //every size from an empty tree up to a few full and partial levels
+        for(int size = 0; size <= 70; size++) {
+            BinarySearchTree<Integer> tree = new BinarySearchTree<>(true);
+            TreeSet<Integer> expected = new TreeSet<>();
+            for(int i = 0; i < size; i++) {
+                tree.add(i * 3);
+                expected.add(i * 3);
+            }
+
+            FrozenSearchTree<Integer> frozen = tree.freeze();
+            assertEquals(size, frozen.size(), "frozen tree has the wrong size");
+            List<Integer> inOrder = new ArrayList<>();
+            frozen.forEach(inOrder::add);
+            assertEquals(new ArrayList<>(expected), inOrder, "frozen tree did not iterate in order");
+
+            for(int value = -2; value <= size * 3 + 2; value++) {
+                assertEquals(expected.contains(value), frozen.contains(value), "contains() is wrong for " + value);
+                assertEquals(expected.floor(value), frozen.floor(value), "floor() is wrong for " + value);
+                assertEquals(expected.ceiling(value), frozen.ceiling(value), "ceiling() is wrong for " + value);
+                assertEquals(expected.headSet(value).size(), frozen.rank(value), "rank() is wrong for " + value);
+            }
+
+            //the frozen copy does not change with the tree
+            tree.add(-100);
+            assertFalse(frozen.contains(-100), "frozen tree saw a later change");
+        }
+    }
+
+    @Test
+    public void testBulkBuild() {
+        Integer[] sorted = new Integer[10_000];
+        for(int i = 0; i < sorted.length; i++) {
+            sorted[i] = i * 2;
+        }
+
+        BinarySearchTree<Integer> tree = BinarySearchTree.fromSorted(sorted);
+        assertTrue(tree.isBalanced(), "a bulk built tree should stay balanced");
+        assertEquals(sorted.length, tree.size(), "wrong size after a bulk build");
+        assertEquals(14, tree.height(), "bulk build did not make a perfectly balanced tree");
+        assertEquals(List.of(sorted), tree.toList(), "bulk build lost the order");
+        assertEquals(5000, tree.rank(10_000), "subtree sizes were not set by the bulk build");
+
+        //the tree keeps working normally afterwards
+        tree.add(-1);
+        assertTrue(tree.remove(2), "could not remove from a bulk built tree");
+        assertEquals(-1, tree.select(0), "wrong smallest element after changing the tree");
+
+        //repeats next to each other are dropped, anything out of order is rejected
+        assertEquals(3, BinarySearchTree.fromSorted(List.of(1, 1, 2, 3, 3)).size(), "repeats were not dropped");
+        try {
+            BinarySearchTree.fromSorted(List.of(1, 3, 2));
+            fail("Illegal argument exception was not thrown for unsorted input");
+        } catch (IllegalArgumentException exception) {
+            //good
+        }
+
+        List<Integer> shuffled = new ArrayList<>();
+        Random random = new Random(24);
+        for(int i = 0; i < 5000; i++) {
+            shuffled.add(random.nextInt(1000));
+        }
+        for(boolean parallel : new boolean[] {false, true}) {
+            BinarySearchTree<Integer> unsorted = BinarySearchTree.fromUnsorted(shuffled, parallel);
+            assertEquals(new ArrayList<>(new TreeSet<>(shuffled)), unsorted.toList(),
+                    "unsorted build did not sort and drop the repeats");
+        }
+    }
 }